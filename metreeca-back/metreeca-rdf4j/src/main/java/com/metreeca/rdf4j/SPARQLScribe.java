@@ -198,6 +198,10 @@ public final class SPARQLScribe {
 		return list(text(" if("), test, text(", "), pass, text(", "), fail, text(")"));
 	}
 
+	public static Scribe coalesce(final Scribe... expressions) {
+		return function("coalesce", expressions);
+	}
+
 	public static Scribe isBlank(final Scribe expression) {
 		return function("isBlank", expression);
 	}
@@ -210,6 +214,10 @@ public final class SPARQLScribe {
 		return function("isLiteral", expression);
 	}
 
+	public static Scribe isNumeric(final Scribe expression) {
+		return function("isNumeric", expression);
+	}
+
 	public static Scribe bound(final Scribe expression) {
 		return function("bound", expression);
 	}
@@ -226,6 +234,10 @@ public final class SPARQLScribe {
 		return function("str", expression);
 	}
 
+	public static Scribe concat(final Scribe... expressions) {
+		return function("concat", expressions);
+	}
+
 	public static Scribe strlen(final Scribe expression) {
 		return function("strlen", expression);
 	}
@@ -18,6 +18,7 @@ package com.metreeca.rdf4j.actions;
 
 import com.metreeca.rdf4j.assets.Graph;
 import com.metreeca.rest.assets.Logger;
+import com.metreeca.rest.assets.Metrics;
 
 import org.eclipse.rdf4j.model.*;
 
@@ -29,7 +30,7 @@ import java.util.function.Consumer;
 import static com.metreeca.rdf4j.assets.Graph.txn;
 import static com.metreeca.rest.Context.asset;
 import static com.metreeca.rest.assets.Logger.logger;
-import static com.metreeca.rest.assets.Logger.time;
+import static com.metreeca.rest.assets.Metrics.metrics;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
 
@@ -54,6 +55,7 @@ public final class Upload implements Consumer<Collection<Statement>> {
     private final AtomicLong count=new AtomicLong();
 
 	private final Logger logger=asset(logger());
+	private final Metrics metrics=asset(metrics());
 
 
     /**
@@ -128,7 +130,7 @@ public final class Upload implements Consumer<Collection<Statement>> {
                     .collect(joining(", "));
 
 	        graph.exec(txn(connection -> {
-		        time(() -> {
+		        metrics.time("Upload.upload", () -> {
 
 			        if ( clear.getAndSet(false) ) {
 
@@ -143,10 +145,16 @@ public final class Upload implements Consumer<Collection<Statement>> {
 				        connection.add(statements, this.contexts);
 			        }
 
-		        }).apply(t -> logger.info(this, format(
-				        "uploaded <%,d / %,d> statements to <%s> in <%,d> ms",
-				        statements.size(), count.addAndGet(statements.size()), contexts, t
-		        )));
+		        }).apply(t -> {
+
+			        metrics.counter("Upload.statements").add(statements.size());
+
+			        logger.info(this, format(
+					        "uploaded <%,d / %,d> statements to <%s> in <%,d> ms",
+					        statements.size(), count.addAndGet(statements.size()), contexts, t
+			        ));
+
+		        });
 	        }));
 
         }
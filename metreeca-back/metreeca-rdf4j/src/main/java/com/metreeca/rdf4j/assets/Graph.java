@@ -23,10 +23,12 @@ import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.query.*;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.base.RepositoryConnectionWrapper;
 import org.eclipse.rdf4j.rio.helpers.StatementCollector;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.*;
 
 import static com.metreeca.json.Values.*;
@@ -432,7 +434,9 @@ public final class Graph implements AutoCloseable {
 
 	private Repository repository;
 
-	private final ThreadLocal<RepositoryConnection> context=new ThreadLocal<>();
+	private final ThreadLocal<Tracker> context=new ThreadLocal<>();
+
+	private final AtomicLong version=new AtomicLong();
 
 
 	/**
@@ -467,6 +471,26 @@ public final class Graph implements AutoCloseable {
 	}
 
 
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Retrieves the write version of this graph store.
+	 *
+	 * <p>The write version is a monotonic counter incremented every time changes performed through this graph store
+	 * are committed, either explicitly or in auto-commit mode, and may be used to validate cached query results.</p>
+	 *
+	 * @return the current write version of this graph store or a negative value, if the connection shared by the
+	 * calling thread holds uncommitted changes; in the latter case, query results reflect changes not yet visible to
+	 * other threads and must not be cached
+	 */
+	public long version() {
+
+		final Tracker shared=context.get();
+
+		return shared != null && shared.modified ? -1 : version.get();
+	}
+
+
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	/**
@@ -523,7 +547,7 @@ public final class Graph implements AutoCloseable {
 			throw new IllegalStateException("closed graph store");
 		}
 
-		final RepositoryConnection shared=context.get();
+		final Tracker shared=context.get();
 
 		if ( shared != null ) {
 
@@ -533,7 +557,7 @@ public final class Graph implements AutoCloseable {
 
 			if ( !repository.isInitialized() ) { repository.init(); }
 
-			try ( final RepositoryConnection connection=repository.getConnection() ) {
+			try ( final Tracker connection=new Tracker(repository.getConnection()) ) {
 
 				context.set(connection);
 
@@ -549,4 +573,68 @@ public final class Graph implements AutoCloseable {
 
 	}
 
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/*
+	 * Repository connection tracking changes to bump the write version of the graph store; updates are tracked
+	 * pessimistically on preparation.
+	 */
+	private final class Tracker extends RepositoryConnectionWrapper {
+
+		private boolean modified;
+
+
+		private Tracker(final RepositoryConnection connection) {
+			super(connection.getRepository(), connection);
+		}
+
+
+		private void flush() {
+			if ( modified ) {
+
+				modified=false;
+
+				version.incrementAndGet();
+
+			}
+		}
+
+
+		@Override protected boolean isDelegatingAdd() {
+
+			modified=true;
+
+			return true;
+		}
+
+		@Override protected boolean isDelegatingRemove() {
+
+			modified=true;
+
+			return true;
+		}
+
+		@Override public Update prepareUpdate(final QueryLanguage ql, final String update, final String baseURI) {
+
+			modified=true;
+
+			return super.prepareUpdate(ql, update, baseURI);
+		}
+
+
+		@Override public void commit() {
+			try { super.commit(); } finally { flush(); }
+		}
+
+		@Override public void rollback() {
+			try { super.rollback(); } finally { flush(); } // conservatively covers preceding auto-commit changes
+		}
+
+		@Override public void close() {
+			try { super.close(); } finally { flush(); } // auto-commit changes
+		}
+
+	}
+
 }
@@ -21,20 +21,35 @@ import com.metreeca.json.Shape;
 import com.metreeca.json.queries.*;
 import com.metreeca.rdf4j.assets.GraphFacts.Options;
 import com.metreeca.rest.*;
+import com.metreeca.rest.Future;
 import com.metreeca.rest.assets.Engine;
+import com.metreeca.rest.assets.Logger;
+import com.metreeca.rest.assets.Metrics;
 import com.metreeca.rest.formats.JSONLDFormat;
 
 import org.eclipse.rdf4j.model.*;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
 
+import java.io.ByteArrayOutputStream;
 import java.util.*;
-import java.util.function.Supplier;
+import java.util.concurrent.*;
+import java.util.function.*;
 import java.util.regex.Matcher;
 
+import javax.json.*;
+
+import static com.metreeca.json.Shape.required;
 import static com.metreeca.json.Values.IRIPattern;
+import static com.metreeca.json.Values.bnode;
 import static com.metreeca.json.Values.format;
+import static com.metreeca.json.Values.hash;
 import static com.metreeca.json.Values.iri;
+import static com.metreeca.json.Values.literal;
+import static com.metreeca.json.Values.statement;
+import static com.metreeca.json.Values.uuid;
 import static com.metreeca.json.shapes.All.all;
 import static com.metreeca.json.shapes.And.and;
+import static com.metreeca.json.shapes.Datatype.datatype;
 import static com.metreeca.json.shapes.Field.field;
 import static com.metreeca.json.shapes.Guard.Convey;
 import static com.metreeca.json.shapes.Guard.Mode;
@@ -43,12 +58,23 @@ import static com.metreeca.rdf4j.assets.Graph.txn;
 import static com.metreeca.rest.Context.asset;
 import static com.metreeca.rest.MessageException.status;
 import static com.metreeca.rest.Response.*;
+import static com.metreeca.rest.assets.Engine.FacetsShape;
 import static com.metreeca.rest.assets.Engine.StatsShape;
 import static com.metreeca.rest.assets.Engine.TermsShape;
+import static com.metreeca.rest.assets.Logger.logger;
+import static com.metreeca.rest.assets.Metrics.metrics;
+import static com.metreeca.rest.formats.JSONFormat.json;
 import static com.metreeca.rest.formats.JSONLDFormat.*;
+import static com.metreeca.rest.formats.OutputFormat.output;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableCollection;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 
 /**
@@ -68,12 +94,105 @@ public final class GraphEngine implements Engine {
 		return () -> 1_000;
 	}
 
+	/**
+	 * Maximum number of cached terms/stats query results.
+	 *
+	 * <p>Results are cached by target resource and query and are invalidated as soon as a change to the shared
+	 * {@linkplain Graph graph} is committed; least recently used results are evicted first.</p>
+	 *
+	 * @return an {@linkplain #set(Supplier, Object) option} with a default value of {@code 1000}; a zero value
+	 * disables caching
+	 *
+	 * @see Graph#version()
+	 */
+	public static Supplier<Integer> facets() {
+		return () -> 1_000;
+	}
+
+	/**
+	 * Maximum number of concurrent facet queries.
+	 *
+	 * <p>Terms and stats queries combined in a single {@linkplain Facets multi-facet} browsing request are executed
+	 * concurrently on separate connections, using a pool of at most this number of threads per engine.</p>
+	 *
+	 * @return an {@linkplain #set(Supplier, Object) option} with a default value equal to the number of available
+	 * processors; a value of {@code 1} disables concurrent execution
+	 */
+	public static Supplier<Integer> parallelism() {
+		return () -> Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Cache control directives for retrieved representations.
+	 *
+	 * <p>Representations retrieved by {@link #relate(Request)} and {@link #browse(Request)} are tagged with weak
+	 * entity tags derived from the write {@linkplain Graph#version() version} of the shared graph and from the
+	 * request query and shape: the directives are returned in the {@code Cache-Control} header along with the {@code
+	 * ETag} header.</p>
+	 *
+	 * @return an {@linkplain #set(Supplier, Object) option} with a default value of {@code "no-cache"}, requiring
+	 * clients to revalidate stored representations with a conditional request; an empty value disables entity
+	 * tagging
+	 */
+	public static Supplier<String> caching() {
+		return () -> "no-cache";
+	}
+
+	/**
+	 * Maximum age of total count estimates.
+	 *
+	 * <p>Browsing requests may opt in to {@linkplain #browse(Request) total counts} with a {@code Prefer: count}
+	 * header, for exact counts computed on the current {@linkplain Graph#version() version} of the shared graph, or
+	 * with a {@code Prefer: count=estimate} header, for approximate counts possibly retrieved from the terms/stats
+	 * {@linkplain #facets() cache} even if computed on an earlier version of the graph, as long as they are not older
+	 * than this age; estimates are intended for very large containers, where exact counts are expensive to compute
+	 * at each change.</p>
+	 *
+	 * @return an {@linkplain #set(Supplier, Object) option} with a default value of {@code 60_000} ms; a zero value
+	 * forces exact counts
+	 */
+	public static Supplier<Long> estimates() {
+		return () -> 60_000L;
+	}
+
+	/**
+	 * Roles enabled for query profiling.
+	 *
+	 * <p>Retrieval and browsing requests performed by users in one of these roles may opt in to profiling with a
+	 * {@code Prefer: profile} header: the query is executed bypassing caches and the response body is replaced by a
+	 * JSON report detailing, for each query evaluated against the shared {@linkplain Graph graph}, shape compilation,
+	 * query generation and evaluation times, the generated SPARQL source code and the query plan explained by the
+	 * store with actual result sizes, if supported, along with the time and size of the encoded JSON-LD
+	 * representation.</p>
+	 *
+	 * @return an {@linkplain #set(Supplier, Object) option} with an empty default value, which disables profiling
+	 */
+	public static Supplier<Collection<Object>> profiling() {
+		return Collections::emptySet;
+	}
+
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-	private final Map<Supplier<?>, Object> options=new LinkedHashMap<>();
+	private final Map<Supplier<?>, Object> options=new ConcurrentHashMap<>(); // accessed by facet query threads
 
 	private final Graph graph=asset(graph());
+	private final Logger logger=asset(logger());
+	private final Metrics metrics=asset(metrics());
+
+	private final FacetCache facets=new FacetCache();
+
+	private volatile ExecutorService executor; // lazily created pool for concurrent facet queries
+
+	private final String epoch=uuid(); // distinguishes graph versions across restarts
+
+
+	/**
+	 * Creates a graph engine.
+	 */
+	public GraphEngine() {
+		metrics.gauge("GraphEngine.facets", facets::size);
+	}
 
 
 	/**
@@ -233,7 +352,15 @@ public final class GraphEngine implements Engine {
 	 * <li>the response includes the derived shape actually used in the retrieval process;</li>
 	 *
 	 * <li>the response {@link JSONLDFormat JSON-LD} body contains a description of the request item retrieved from the
-	 * shared {@linkplain  Graph graph} and matching the response shape;</li>
+	 * shared {@linkplain  Graph graph} and matching the response shape and is marked as {@linkplain
+	 * JSONLDFormat#trusted() trusted};</li>
+	 *
+	 * <li>the response is tagged with a weak {@code ETag} header and {@linkplain #caching() Cache-Control} directives;
+	 * conditional requests whose {@code If-None-Match} header matches the current tag are completed with a {@value
+	 * Response#NotModified} status code without querying the graph;</li>
+	 *
+	 * <li>requests by users in a {@linkplain #profiling() profiling} role may opt in to receive a query profiling
+	 * report in place of the resource description;</li>
 	 *
 	 * <li>the operation is completed with a {@value Response#OK} status code.</li>
 	 *
@@ -262,21 +389,33 @@ public final class GraphEngine implements Engine {
 		final IRI item=iri(request.item());
 		final Shape shape=and(all(item), request.attribute(shape()));
 
-		return query(item, shape, request.query()).fold(request::reply, query ->
-				request.reply(response -> Optional
+		return query(item, shape, request.query()).fold(request::reply, query -> {
 
-						.of(query.map(new QueryProbe(item, this::get)))
+			if ( profiling(request) ) { return profile(request, item, query, false); }
 
-						.filter(model -> !model.isEmpty())
+			final String etag=etag(request, query);
 
-						.map(model -> response.status(OK)
-								.attribute(shape(), query.map(new ShapeProbe(false)))
-								.body(jsonld(), model)
-						)
+			return matches(request, etag, false) ? request.reply(response -> tag(response.status(NotModified), etag))
 
-						.orElseGet(() -> response.status(NotFound)) // !!! 410 Gone if previously known
-				)
-		);
+					: request.reply(response -> Optional
+
+					.of(query.map(new QueryProbe(item, this::get, cursor -> {},
+							(facet, task) -> facets.lookup(item, facet, request.langs(), task), null, null, null,
+							request.langs()
+					)))
+
+					.filter(model -> !model.isEmpty())
+
+					.map(model -> tag(response, etag).status(OK)
+							.attribute(shape(), query.map(new ShapeProbe(false, false)))
+							.attribute(trusted(), true) // generated from the response shape
+							.body(jsonld(), model)
+					)
+
+					.orElseGet(() -> response.status(NotFound)) // !!! 410 Gone if previously known
+			);
+
+		});
 	}
 
 	/**
@@ -294,7 +433,29 @@ public final class GraphEngine implements Engine {
 	 * <li>the response {@link JSONLDFormat JSON-LD} body contains a description of member linked data resources
 	 * retrieved from the shared {@linkplain  Graph graph} according to the filtering constraints in the request shape
 	 * and matching the response shape; the IRI of the target container is connected to the IRIs of the member
-	 * resources using the {@link Shape#Contains ldp:contains} property;</li>
+	 * resources using the {@link Shape#Contains ldp:contains} property; the body is marked as {@linkplain
+	 * JSONLDFormat#trusted() trusted};</li>
+	 *
+	 * <li>if the page of member resources is full, the response includes a {@code Link} header with a {@code next}
+	 * relation, pointing to the following page through an opaque {@code .after} continuation cursor;</li>
+	 *
+	 * <li>items requests including a {@code Prefer: count} or {@code Prefer: count=estimate} header are completed
+	 * with the exact or {@linkplain #estimates() estimated} total number of member resources matching the filtering
+	 * constraints in the request shape, computed concurrently with the page and linked to the target container
+	 * through a {@link Engine#count} property; the applied preference is reported in the {@code Preference-Applied}
+	 * header;</li>
+	 *
+	 * <li>{@linkplain Facets multi-facet} queries are executed concurrently on separate connections, up to the
+	 * configured {@linkplain #parallelism() parallelism}; the results of each facet are linked to the target
+	 * container through a {@link Engine#facets} node, labelled with the facet path by a {@link Engine#facet}
+	 * property;</li>
+	 *
+	 * <li>the response is tagged with a weak {@code ETag} header and {@linkplain #caching() Cache-Control} directives;
+	 * conditional requests whose {@code If-None-Match} header matches the current tag are completed with a {@value
+	 * Response#NotModified} status code without querying the graph;</li>
+	 *
+	 * <li>requests by users in a {@linkplain #profiling() profiling} role may opt in to receive a query profiling
+	 * report in place of the container description;</li>
 	 *
 	 * <li>the operation is completed with a {@value Response#OK} status code.</li>
 	 *
@@ -315,12 +476,42 @@ public final class GraphEngine implements Engine {
 		final IRI item=iri(request.item());
 		final Shape shape=request.attribute(shape());
 
-		return query(item, shape, request.query()).fold(request::reply, query ->
-				request.reply(response -> response.status(OK) // containers are virtual and respond always with 200 OK
-						.attribute(shape(), query.map(new ShapeProbe(true)))
-						.body(jsonld(), query.map(new QueryProbe(item, this::get)))
-				)
-		);
+		return query(item, shape, request.query()).fold(request::reply, query -> {
+
+			if ( profiling(request) ) { return profile(request, item, query, true); }
+
+			final String count=counting(request, query);
+			final String etag=etag(request, query);
+
+			return matches(request, etag, true) ? request.reply(response -> tag(response.status(NotModified), etag))
+
+					: request.reply(response -> {
+
+				final Collection<String> cursors=new ArrayList<>();
+				final Collection<Statement> model=query.map(new QueryProbe(item, this::get, cursors::add,
+						(facet, task) -> facets.lookup(item, facet, request.langs(), task), executor(query, count), null,
+						counter(item, count, true, null), request.langs()
+				));
+
+				return cursors.stream().findFirst()
+
+						.map(cursor -> response.header("+Link", format("<%s?%s>; rel=\"next\"",
+								request.path(), next(request.query(), cursor) // root-relative to support relocation
+						)))
+
+						.orElse(response)
+
+						.map(tagged -> tag(tagged, etag))
+						.map(tagged -> count == null ? tagged : tagged.header("Preference-Applied", count))
+
+						.status(OK) // containers are virtual and respond always with 200 OK
+						.attribute(shape(), query.map(new ShapeProbe(true, count != null)))
+						.attribute(trusted(), true) // generated from the response shape
+						.body(jsonld(), model);
+
+			});
+
+		});
 	}
 
 	/**
@@ -339,7 +530,7 @@ public final class GraphEngine implements Engine {
 	 * updated matching by the shape;</li>
 	 *
 	 * <li>the existing description of the resource matching the request shape is replaced in the shared
-	 * {@linkplain Graph graph} with the request body;</li>
+	 * {@linkplain Graph graph} with the request body, removing and adding only statements actually changed;</li>
 	 *
 	 * <li>the operation is completed with a {@value Response#NoContent} status code.</li>
 	 *
@@ -379,8 +570,15 @@ public final class GraphEngine implements Engine {
 
 							.map(current -> {
 
-								connection.remove(current);
-								connection.add(model);
+								final Collection<Statement> removed=delta(current, model);
+								final Collection<Statement> added=delta(model, current);
+
+								if ( !removed.isEmpty() ) { connection.remove(removed); }
+								if ( !added.isEmpty() ) { connection.add(added); }
+
+								logger.debug(this, () -> format("updated %s: <%,d> removed / <%,d> added / <%,d> unchanged",
+										format(item), removed.size(), added.size(), current.size()-removed.size()
+								));
 
 								return response.status(NoContent);
 
@@ -457,6 +655,204 @@ public final class GraphEngine implements Engine {
 	}
 
 
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	private Set<String> preferences(final Request request) {
+		return request.headers("Prefer").stream()
+				.flatMap(header -> Arrays.stream(header.split(",")))
+				.map(preference -> preference.replaceAll("\\s+", "").toLowerCase(Locale.ROOT))
+				.collect(toSet());
+	}
+
+	private boolean profiling(final Request request) {
+		return request.role(get(profiling())) && preferences(request).contains("profile");
+	}
+
+	/*
+	 * Identifies the total count preference applicable to a query; returns null if no total count was requested or
+	 * if the query is not an items query.
+	 */
+	private String counting(final Request request, final Query query) {
+
+		final Set<String> preferences=preferences(request);
+
+		return query.map(new Query.Probe<String>() {
+
+			@Override public String probe(final Items items) {
+				return preferences.contains("count") ? "count"
+						: preferences.contains("count=estimate") ? "count=estimate"
+						: null;
+			}
+
+			@Override public String probe(final Terms terms) { return null; }
+
+			@Override public String probe(final Stats stats) { return null; }
+
+		});
+	}
+
+	/*
+	 * Creates a total counter for items queries; returns null if no total count is to be computed.
+	 */
+	private Function<Items, Collection<Statement>> counter(
+			final IRI item, final String count, final boolean cached, final Consumer<JsonObject> profile
+	) {
+		return count == null ? null : items -> {
+
+			final Supplier<Collection<Statement>> task=() -> new GraphItems(this::get, profile).total(item, items);
+
+			return cached ? facets.lookup(asList(item, Engine.count, items.shape()),
+					count.equals("count") ? 0L : get(estimates()), task
+			) : task.get();
+
+		};
+	}
+
+	/*
+	 * Executes a query collecting profiling reports for evaluated queries and for the encoding of the retrieved model;
+	 * caches are bypassed to measure actual evaluation costs and the report is itself marked as not cacheable.
+	 */
+	private Future<Response> profile(final Request request, final IRI item, final Query query, final boolean container) {
+		return request.reply(response -> {
+
+			final List<JsonObject> queries=Collections.synchronizedList(new ArrayList<>()); // concurrent facets
+
+			final String count=container ? counting(request, query) : null;
+
+			final Collection<Statement> model=query.map(new QueryProbe(item, this::get, cursor -> {},
+					(facet, task) -> task.get(), executor(query, count), queries::add,
+					counter(item, count, false, queries::add), request.langs()
+			));
+
+			Logger.time(() -> { // encode into a throwaway response to measure JSON-LD encoding
+
+				final ByteArrayOutputStream output=new ByteArrayOutputStream();
+
+				new Response(request).status(OK)
+						.attribute(shape(), query.map(new ShapeProbe(container, count != null)))
+						.attribute(trusted(), true) // generated from the response shape
+						.body(jsonld(), model)
+						.body(output()).get()
+						.ifPresent(body -> body.accept(output));
+
+				return output.size();
+
+			}).apply((t, size) -> response.status(OK)
+					.header("Preference-Applied", "profile")
+					.header("Cache-Control", "no-store") // timings are not reusable
+					.header("Vary", "Prefer")
+					.body(json(), Json.createObjectBuilder()
+							.add("queries", queries.stream().reduce(
+									Json.createArrayBuilder(), JsonArrayBuilder::add, JsonArrayBuilder::addAll
+							))
+							.add("statements", model.size())
+							.add("encode", t)
+							.add("size", size)
+							.build()
+					)
+			);
+
+			return response;
+
+		});
+	}
+
+	/*
+	 * Computes a weak entity tag for the representation retrieved by a query; returns null if tagging is disabled or
+	 * if the current thread holds uncommitted changes.
+	 */
+	private String etag(final Request request, final Query query) {
+
+		final long version=graph.version();
+
+		return version < 0 || get(caching()).isEmpty() ? null : format("W/\"%s\"", hash(String.join("\n",
+				epoch,
+				String.valueOf(version),
+				request.item(),
+				request.header("Accept").orElse(""), // JSON/JSON-LD representations differ
+				String.join(",", request.langs()), // representations are localized
+				String.join(",", request.headers("Prefer")), // total counts included only if requested
+				query.toString() // includes the request shape, as affected by user roles
+		)));
+	}
+
+	/*
+	 * Checks if a conditional request matches an entity tag; wildcards match only if the target resource is known to
+	 * exist, as for virtual containers.
+	 */
+	private boolean matches(final Request request, final String etag, final boolean existing) {
+		return etag != null && request.headers("If-None-Match").stream()
+				.flatMap(header -> Arrays.stream(header.split(",")))
+				.map(String::trim)
+				.anyMatch(tag -> existing && tag.equals("*") || tag.equals(etag) || tag.equals(etag.substring(2)));
+	}
+
+	private Collection<Statement> delta(final Collection<Statement> x, final Collection<Statement> y) {
+
+		final Set<Statement> excluded=y instanceof Set ? (Set<Statement>)y : new HashSet<>(y);
+
+		return x.stream().filter(statement -> !excluded.contains(statement)).collect(toList());
+	}
+
+	/*
+	 * Retrieves the executor for concurrent queries; null if the query involves no concurrent tasks, that is unless
+	 * it is a facets query or a total count was requested.
+	 */
+	private Executor executor(final Query query, final String count) {
+		return query instanceof Facets || count != null ? executor() : null;
+	}
+
+	/*
+	 * Retrieves the executor for concurrent facet queries; null if facet queries are to be executed sequentially on
+	 * the current connection, either as configured or as the connection includes uncommitted changes.
+	 */
+	private Executor executor() {
+
+		final int parallelism=get(parallelism());
+
+		if ( parallelism <= 1 || graph.version() < 0 ) { return null; } else {
+
+			ExecutorService current=executor; // double-checked locking on volatile field
+
+			if ( current == null ) {
+				synchronized ( this ) {
+
+					current=executor;
+
+					if ( current == null ) {
+
+						final ThreadPoolExecutor pool=new ThreadPoolExecutor(
+								parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+
+							final Thread thread=new Thread(task, GraphEngine.class.getName());
+
+							thread.setDaemon(true);
+
+							return thread;
+
+						});
+
+						pool.allowCoreThreadTimeOut(true); // release idle threads
+
+						executor=current=pool;
+					}
+
+				}
+			}
+
+			return current;
+
+		}
+	}
+
+	private Response tag(final Response response, final String etag) {
+		return etag == null ? response : response
+				.header("ETag", etag)
+				.header("Cache-Control", get(caching()))
+				.header("Vary", "Accept, Accept-Language, Prefer"); // as included in the entity tag
+	}
+
+
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	private static final class QueryProbe extends Query.Probe<Collection<Statement>> {
@@ -464,25 +860,198 @@ public final class GraphEngine implements Engine {
 		private final IRI resource;
 		private final Options options;
 
+		private final Consumer<String> next;
+		private final BiFunction<Query, Supplier<Collection<Statement>>, Collection<Statement>> cache;
+
+		private final Executor executor; // null for sequential facet queries
+		private final Consumer<JsonObject> profile; // null if profiling is disabled
+		private final Function<Items, Collection<Statement>> counter; // null if total counts are not required
+
+		private final List<String> langs; // accepted language tags for annotations
+
 
 		QueryProbe(final IRI resource, final Options options) {
+			this(resource, options, cursor -> {}, (query, task) -> task.get());
+		}
+
+		QueryProbe(final IRI resource, final Options options,
+				final Consumer<String> next,
+				final BiFunction<Query, Supplier<Collection<Statement>>, Collection<Statement>> cache
+		) {
+			this(resource, options, next, cache, null);
+		}
+
+		QueryProbe(final IRI resource, final Options options,
+				final Consumer<String> next,
+				final BiFunction<Query, Supplier<Collection<Statement>>, Collection<Statement>> cache,
+				final Executor executor
+		) {
+			this(resource, options, next, cache, executor, null, null, emptyList());
+		}
+
+		QueryProbe(final IRI resource, final Options options,
+				final Consumer<String> next,
+				final BiFunction<Query, Supplier<Collection<Statement>>, Collection<Statement>> cache,
+				final Executor executor,
+				final Consumer<JsonObject> profile,
+				final Function<Items, Collection<Statement>> counter,
+				final List<String> langs
+		) {
 			this.resource=resource;
 			this.options=options;
+			this.next=next;
+			this.cache=cache;
+			this.executor=executor;
+			this.profile=profile;
+			this.counter=counter;
+			this.langs=langs;
 		}
 
 
 		////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 		@Override public Collection<Statement> probe(final Items items) {
-			return new GraphItems(options).process(resource, items);
+
+			final Supplier<Collection<Statement>> page=() -> new GraphItems(options, profile)
+					.process(resource, items, next);
+
+			if ( counter == null ) { return page.get(); } else {
+
+				final Xtream<Supplier<Collection<Statement>>> tasks=Xtream.of(page, () -> counter.apply(items));
+
+				return (executor == null ? tasks.map(Supplier::get) : tasks.async(executor, 2, Supplier::get))
+						.flatMap(Collection::stream)
+						.collect(toCollection(LinkedHashSet::new));
+
+			}
 		}
 
 		@Override public Collection<Statement> probe(final Terms terms) {
-			return new GraphTerms(options).process(resource, terms);
+			return cache.apply(terms, () -> new GraphTerms(options, profile).process(resource, terms, langs));
 		}
 
 		@Override public Collection<Statement> probe(final Stats stats) {
-			return new GraphStats(options).process(resource, stats);
+			return cache.apply(stats, () -> new GraphStats(options, profile).process(resource, stats, langs));
+		}
+
+		@Override public Collection<Statement> probe(final Facets facets) {
+
+			final Xtream<Map.Entry<String, Query>> queries=Xtream.from(facets.facets().entrySet());
+
+			final Function<Map.Entry<String, Query>, Collection<Statement>> mapper=entry ->
+					facet(entry.getKey(), entry.getValue().map(this));
+
+			return (executor == null ? queries.map(mapper) : queries.async(executor, options.get(parallelism()), mapper))
+					.flatMap(Collection::stream)
+					.collect(toCollection(LinkedHashSet::new));
+		}
+
+
+		/*
+		 * Links facet results to a facet node, scoping blank nodes to avoid clashes among facets.
+		 */
+		private Collection<Statement> facet(final String label, final Collection<Statement> model) {
+
+			final BNode facet=bnode(hash(label));
+
+			final Collection<Statement> statements=new ArrayList<>(model.size()+2);
+
+			statements.add(statement(resource, Engine.facets, facet));
+			statements.add(statement(facet, Engine.facet, literal(label)));
+
+			model.forEach(statement -> statements.add(statement(
+					statement.getSubject().equals(resource) ? facet : (Resource)scope(label, statement.getSubject()),
+					statement.getPredicate(),
+					scope(label, statement.getObject())
+			)));
+
+			return statements;
+		}
+
+		private Value scope(final String label, final Value value) {
+			return value instanceof BNode ? bnode(hash(label+"\n"+((BNode)value).getID())) : value;
+		}
+
+	}
+
+	/*
+	 * Least-recently-used cache for terms/stats results, validated against the graph write version.
+	 */
+	private final class FacetCache {
+
+		private final Map<List<Object>, Result> results=new LinkedHashMap<List<Object>, Result>(16, 0.75f, true) {
+
+			@Override protected boolean removeEldestEntry(final Map.Entry<List<Object>, Result> eldest) {
+				return size() > GraphEngine.this.get(facets());
+			}
+
+		};
+
+
+		private synchronized int size() {
+			return results.size();
+		}
+
+
+		private Collection<Statement> lookup(
+				final IRI resource, final Query query, final List<String> langs,
+				final Supplier<Collection<Statement>> task
+		) {
+			return lookup(asList(resource, query, langs), 0L, task); // annotations are localized
+		}
+
+		/*
+		 * Retrieves a cached result; results computed on earlier graph versions are reused if not older than age [ms].
+		 */
+		private Collection<Statement> lookup(
+				final List<Object> key, final long age, final Supplier<Collection<Statement>> task
+		) {
+
+			final long version=graph.version();
+
+			if ( version < 0 || get(facets()) <= 0 ) { return task.get(); } else {
+
+				final long now=System.currentTimeMillis();
+
+				final Result cached;
+
+				synchronized ( this ) { cached=results.get(key); }
+
+				if ( cached != null && (cached.version == version || now-cached.time < age) ) {
+
+					metrics.counter("GraphEngine.facets.hits").increment();
+
+					return cached.model;
+
+				} else {
+
+					metrics.counter("GraphEngine.facets.misses").increment();
+
+					final Collection<Statement> model=unmodifiableCollection(new ArrayList<>(task.get()));
+
+					synchronized ( this ) { results.put(key, new Result(version, now, model)); }
+
+					return model;
+
+				}
+
+			}
+		}
+
+	}
+
+	private static final class Result {
+
+		private final long version; // the graph version the result was computed on
+		private final long time; // the time the result was computed at [ms]
+
+		private final Collection<Statement> model;
+
+
+		private Result(final long version, final long time, final Collection<Statement> model) {
+			this.version=version;
+			this.time=time;
+			this.model=model;
 		}
 
 	}
@@ -490,17 +1059,22 @@ public final class GraphEngine implements Engine {
 	private static final class ShapeProbe extends Query.Probe<Shape> {
 
 		private final boolean container;
+		private final boolean counted;
 
 
-		private ShapeProbe(final boolean container) {
+		private ShapeProbe(final boolean container, final boolean counted) {
 			this.container=container;
+			this.counted=counted;
 		}
 
 
 		@Override public Shape probe(final Items items) { // !!! add Shape.Contains if items.path is not empty
 			return (container ?
 
-					field(Shape.Contains, items.shape()) : items.shape()
+					and(
+							field(Shape.Contains, items.shape()),
+							counted ? field(Engine.count, required(), datatype(XSD.INTEGER)) : and()
+					) : items.shape()
 
 			).redact(Mode, Convey); // remove filters
 		}
@@ -513,6 +1087,10 @@ public final class GraphEngine implements Engine {
 			return TermsShape(terms);
 		}
 
+		@Override public Shape probe(final Facets facets) {
+			return FacetsShape(facets);
+		}
+
 	}
 
 }
@@ -21,14 +21,23 @@ import com.metreeca.json.Values;
 import com.metreeca.json.shapes.*;
 import com.metreeca.rest.Scribe;
 import com.metreeca.rest.assets.Logger;
+import com.metreeca.rest.assets.Metrics;
 
-import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.*;
+import org.eclipse.rdf4j.query.explanation.Explanation;
 
+import java.io.StringReader;
 import java.util.*;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import javax.json.*;
+
 import static com.metreeca.json.Values.*;
 import static com.metreeca.json.shapes.All.all;
 import static com.metreeca.json.shapes.And.and;
@@ -36,6 +45,7 @@ import static com.metreeca.json.shapes.Field.field;
 import static com.metreeca.json.shapes.Link.link;
 import static com.metreeca.json.shapes.Or.or;
 import static com.metreeca.json.shapes.When.when;
+import static com.metreeca.rdf4j.SPARQLScribe.comment;
 import static com.metreeca.rdf4j.SPARQLScribe.datatype;
 import static com.metreeca.rdf4j.SPARQLScribe.edge;
 import static com.metreeca.rdf4j.SPARQLScribe.eq;
@@ -52,7 +62,9 @@ import static com.metreeca.rdf4j.SPARQLScribe.lte;
 import static com.metreeca.rdf4j.SPARQLScribe.neq;
 import static com.metreeca.rdf4j.SPARQLScribe.optional;
 import static com.metreeca.rdf4j.SPARQLScribe.or;
+import static com.metreeca.rdf4j.SPARQLScribe.prefix;
 import static com.metreeca.rdf4j.SPARQLScribe.regex;
+import static com.metreeca.rdf4j.SPARQLScribe.select;
 import static com.metreeca.rdf4j.SPARQLScribe.str;
 import static com.metreeca.rdf4j.SPARQLScribe.string;
 import static com.metreeca.rdf4j.SPARQLScribe.strlen;
@@ -60,15 +72,18 @@ import static com.metreeca.rdf4j.SPARQLScribe.strstarts;
 import static com.metreeca.rdf4j.SPARQLScribe.union;
 import static com.metreeca.rdf4j.SPARQLScribe.values;
 import static com.metreeca.rdf4j.SPARQLScribe.var;
+import static com.metreeca.rdf4j.SPARQLScribe.where;
+import static com.metreeca.rdf4j.assets.Graph.graph;
 import static com.metreeca.rest.Context.asset;
 import static com.metreeca.rest.Scribe.indent;
 import static com.metreeca.rest.Scribe.text;
 import static com.metreeca.rest.Scribe.*;
 import static com.metreeca.rest.assets.Logger.logger;
-import static com.metreeca.rest.assets.Logger.time;
+import static com.metreeca.rest.assets.Metrics.metrics;
 
 import static java.lang.String.format;
 import static java.lang.String.valueOf;
+import static java.util.Arrays.asList;
 
 abstract class GraphFacts {
 
@@ -99,6 +114,92 @@ abstract class GraphFacts {
 	}
 
 
+	private static final int PrunedForms=256; // the maximum number of cached pruned shape forms
+
+	private static final Map<List<Object>, Shape> pruned=new LinkedHashMap<List<Object>, Shape>(16, 0.75f, true) {
+
+		@Override protected boolean removeEldestEntry(final Map.Entry<List<Object>, Shape> eldest) {
+			return size() > PrunedForms;
+		}
+
+	};
+
+
+	private static final int AnnotationsCacheSize=10_000; // the maximum number of cached resource annotations
+
+	private static final Map<List<Object>, Map.Entry<Long, Collection<Statement>>> annotated=
+			new LinkedHashMap<List<Object>, Map.Entry<Long, Collection<Statement>>>(16, 0.75f, true) {
+
+				@Override protected boolean removeEldestEntry(
+						final Map.Entry<List<Object>, Map.Entry<Long, Collection<Statement>>> eldest
+				) {
+					return size() > AnnotationsCacheSize;
+				}
+
+			};
+
+
+	/**
+	 * Retrieves a pruned shape form.
+	 *
+	 * <p>Pruned forms don't depend on the target resource, but only on its kind: they are computed once and cached
+	 * for reuse by later queries on the same shape.</p>
+	 *
+	 * @param shape the shape to be pruned
+	 * @param kind  the kind of the pruned form
+	 * @param task  the pruning task
+	 *
+	 * @return the cached pruned form of {@code shape}, computed by {@code task} if not already available
+	 */
+	private static Shape pruned(final Shape shape, final String kind, final Supplier<Shape> task) {
+
+		final List<Object> key=asList(shape, kind);
+
+		final Shape cached;
+
+		synchronized ( pruned ) { cached=pruned.get(key); }
+
+		if ( cached != null ) { return cached; } else {
+
+			final Shape form=task.get();
+
+			synchronized ( pruned ) { pruned.put(key, form); }
+
+			return form;
+
+		}
+	}
+
+
+	/**
+	 * Retrieves the filtering form of a shape.
+	 *
+	 * @param shape    the shape to be pruned
+	 * @param resource the target resource
+	 *
+	 * @return the {@linkplain Shape#filter(Value) filtering} form of {@code shape}, anchored to {@code resource};
+	 * focus values are left unresolved and fields unlabelled, so that the form may be shared among targets of the
+	 * same kind and later {@linkplain Shape#resolve(IRI, Supplier) resolved and labelled} in a single pass
+	 */
+	static Shape filtering(final Shape shape, final IRI resource) {
+		return pruned(shape, resource.stringValue().endsWith("/") ? "container" : "resource", () ->
+				shape.filter(resource) // only the kind of the anchor is relevant to the unresolved form
+		);
+	}
+
+	/**
+	 * Retrieves the conveying form of a shape.
+	 *
+	 * @param shape the shape to be pruned
+	 *
+	 * @return the {@linkplain Shape#convey() conveying} form of {@code shape}; focus values are left unresolved and
+	 * fields unlabelled, as for {@link #filtering(Shape, IRI)}
+	 */
+	static Shape conveying(final Shape shape) {
+		return pruned(shape, "convey", shape::convey);
+	}
+
+
 	@FunctionalInterface static interface Options {
 		<V> V get(final Supplier<V> option);
 	}
@@ -107,14 +208,33 @@ abstract class GraphFacts {
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	private final Options options;
+	private final Consumer<JsonObject> profile; // null if profiling is disabled
 
 	private int label=1; // the next label available for tagging (0 reserved for the root node)
 
+	private long shaping; // shape compilation time for the next profiled query [ms]
+	private long generating; // generation time for the next profiled query [ms]
+	private String source; // pretty-printed source code for the next profiled query
+
+	private final Graph graph=asset(graph());
 	private final Logger logger=asset(logger());
+	private final Metrics metrics=asset(metrics());
 
 
 	GraphFacts(final Options options) {
+		this(options, null);
+	}
+
+	/**
+	 * Creates a profiling query processor.
+	 *
+	 * @param options the engine options
+	 * @param profile a consumer for the profiling reports of evaluated queries or {@code null} if profiling is
+	 *                disabled; must be thread-safe if shared among concurrent processors
+	 */
+	GraphFacts(final Options options, final Consumer<JsonObject> profile) {
 		this.options=options;
+		this.profile=profile;
 	}
 
 
@@ -130,21 +250,232 @@ abstract class GraphFacts {
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-	String compile(final Supplier<String> generator) {
-		return time(generator).apply((t, v) -> logger
+	/**
+	 * Compiles a query shape.
+	 *
+	 * @param compiler the shape compiler
+	 *
+	 * @return the shape generated by {@code compiler}; compilation time is recorded for profiling
+	 */
+	Shape shape(final Supplier<Shape> compiler) {
+		return metrics.time(getClass().getSimpleName()+".shape", compiler).apply((t, v) -> shaping+=t);
+	}
+
+	/**
+	 * Generates a query.
+	 *
+	 * @param generator the query generator
+	 *
+	 * @return the {@linkplain Scribe#compact(Scribe...) compact} rendering of the query; the pretty-printed rendering
+	 * is generated only for debug logging
+	 */
+	String compile(final Supplier<Scribe> generator) {
+		return metrics.time(getClass().getSimpleName()+".compile", () -> {
 
-				.debug(this, () -> format("executing %s", v.endsWith("\n") ? v : v+"\n"))
-				.debug(this, () -> format("generated in <%,d> ms", t))
+			final Scribe query=generator.get();
 
-		);
+			logger.debug(this, () -> {
+
+				final String code=code(query);
+
+				return format("executing %s", code.endsWith("\n") ? code : code+"\n");
+
+			});
+
+			if ( profile != null ) { source=code(query); }
+
+			return compact(query);
+
+		}).apply((t, v) -> {
+
+			logger.debug(this, () -> format("generated in <%,d> ms", t));
+
+			generating+=t;
+
+		});
 	}
 
-	void evaluate(final Runnable task) {
-		time(task).apply(t -> logger
+	/**
+	 * Evaluates a query.
+	 *
+	 * <p>If profiling is enabled, a report is generated after evaluation, including compilation, generation and
+	 * evaluation times, the query source code and the query plan {@linkplain Query#explain(Explanation.Level)
+	 * explained} by the store with actual result sizes, if supported; note that explaining the plan requires the
+	 * query to be evaluated again.</p>
+	 *
+	 * @param query   the query to be evaluated; must be bound to an open connection
+	 * @param handler the handler for query results
+	 */
+	void evaluate(final TupleQuery query, final TupleQueryResultHandler handler) {
+		metrics.time(getClass().getSimpleName()+".evaluate", () -> query.evaluate(handler)).apply(t -> {
 
-				.debug(this, () -> format("evaluated in <%,d> ms", t))
+			logger.debug(this, () -> format("evaluated in <%,d> ms", t));
 
-		);
+			if ( profile != null ) { profile.accept(report(query, t)); }
+
+		});
+	}
+
+
+	private JsonObject report(final Query query, final long evaluating) {
+		try {
+
+			return Json.createObjectBuilder()
+					.add("shape", shaping)
+					.add("generate", generating)
+					.add("evaluate", evaluating)
+					.add("query", source == null ? "" : source)
+					.add("plan", plan(query))
+					.build();
+
+		} finally {
+
+			shaping=0;
+			generating=0;
+			source=null;
+
+		}
+	}
+
+	/*
+	 * Explains the executed plan of a query, falling back to the optimized plan if the store fails to track actual
+	 * result sizes (as routinely happens for aggregate queries, so the fallback is logged at debug level only);
+	 * returns a null value if plan explanation is not supported.
+	 */
+	private JsonValue plan(final Query query) {
+
+		for (final Explanation.Level level : asList(Explanation.Level.Executed, Explanation.Level.Optimized)) {
+			try ( final JsonReader reader=Json.createReader(new StringReader(query.explain(level).toJson())) ) {
+
+				return reader.readValue();
+
+			} catch ( final UnsupportedOperationException e ) {
+
+				return JsonValue.NULL;
+
+			} catch ( final RuntimeException e ) {
+
+				logger.debug(this, () -> format("unable to explain query plan at <%s> level: %s", level, e.getMessage()));
+
+			}
+		}
+
+		return JsonValue.NULL;
+	}
+
+
+	/**
+	 * Retrieves resource annotations.
+	 *
+	 * <p>Annotations are retrieved for all uncached resources with a single batched query, after the main
+	 * aggregation query has completed; retrieved annotations are cached for reuse by later queries until the
+	 * {@linkplain Graph#version() version} of the shared graph changes.</p>
+	 *
+	 * @param values the values to be annotated; non-IRI values are ignored, as blank nodes can't be referenced
+	 *               across queries (and aren't allowed in {@code VALUES} blocks) and literals have no annotations
+	 * @param langs  the accepted language tags; if empty or including a wildcard ({@code *}), annotations in any
+	 *               language are retrieved, otherwise only untagged annotations and annotations tagged with one of
+	 *               {@code langs}
+	 *
+	 * @return the {@code rdfs:label} and {@code rdfs:comment} annotations of IRIs in {@code values}
+	 */
+	Collection<Statement> annotations(final Collection<Value> values, final List<String> langs) {
+
+		final List<String> tags=langs.contains("*") ? Collections.emptyList() : langs;
+
+		final long version=graph.version();
+
+		final Collection<Statement> model=new LinkedHashSet<>();
+		final Map<Value, Collection<Statement>> missing=new LinkedHashMap<>();
+
+		for (final Value value : values) {
+			if ( value.isIRI() ) {
+
+				final Map.Entry<Long, Collection<Statement>> cached;
+
+				synchronized ( annotated ) { cached=annotated.get(asList(graph, tags, value)); }
+
+				if ( version >= 0 && cached != null && cached.getKey() == version ) {
+					model.addAll(cached.getValue());
+				} else {
+					missing.put(value, new ArrayList<>());
+				}
+
+			}
+		}
+
+		if ( !missing.isEmpty() ) {
+
+			graph.exec(connection -> {
+				evaluate(connection.prepareTupleQuery(compile(() -> list(
+
+						comment("annotations query"),
+
+						prefix(RDFS.NS),
+
+						space(select(var("value"), var("label"), var("notes"))),
+
+						space(where(
+
+								space(values(var("value"), missing.keySet())),
+
+								space(union(
+										block(
+												edge(var("value"), "rdfs:label", var("label")),
+												tagged(var("label"), tags)
+										),
+										block(
+												edge(var("value"), "rdfs:comment", var("notes")),
+												tagged(var("notes"), tags)
+										)
+								))
+
+						))
+
+				))), new AbstractTupleQueryResultHandler() {
+					@Override public void handleSolution(final BindingSet bindings) {
+
+						final Resource value=(Resource)bindings.getValue("value");
+
+						final Value label=bindings.getValue("label");
+						final Value notes=bindings.getValue("notes");
+
+						final Collection<Statement> statements=missing.get(value);
+
+						if ( label != null ) { statements.add(statement(value, RDFS.LABEL, label)); }
+						if ( notes != null ) { statements.add(statement(value, RDFS.COMMENT, notes)); }
+
+					}
+				});
+			});
+
+			missing.forEach((value, statements) -> {
+
+				model.addAll(statements);
+
+				if ( version >= 0 ) {
+					synchronized ( annotated ) {
+						annotated.put(asList(graph, tags, value), new SimpleImmutableEntry<>(version, statements));
+					}
+				}
+
+			});
+
+		}
+
+		return model;
+	}
+
+
+	/*
+	 * Generates a filter retaining untagged literals and literals tagged with one of the given languages.
+	 */
+	private static Scribe tagged(final Scribe literal, final List<String> tags) {
+		return tags.isEmpty() ? nothing() : space(filter(in(lang(literal), Stream
+				.concat(Stream.of(""), tags.stream())
+				.map(Values::quote)
+				.map(Scribe::text)
+		)));
 	}
 
 
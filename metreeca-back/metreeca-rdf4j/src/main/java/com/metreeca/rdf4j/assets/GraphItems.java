@@ -20,16 +20,26 @@ import com.metreeca.json.Order;
 import com.metreeca.json.Shape;
 import com.metreeca.json.queries.Items;
 import com.metreeca.json.shapes.*;
+import com.metreeca.rdf4j.SPARQLScribe;
+import com.metreeca.rest.Scribe;
+import com.metreeca.rest.assets.Engine;
 
 import org.eclipse.rdf4j.model.*;
+import org.eclipse.rdf4j.model.datatypes.XMLDatatypeUtil;
 import org.eclipse.rdf4j.model.vocabulary.OWL;
 import org.eclipse.rdf4j.model.vocabulary.RDFS;
 import org.eclipse.rdf4j.query.AbstractTupleQueryResultHandler;
 import org.eclipse.rdf4j.query.BindingSet;
 
+import java.math.BigInteger;
 import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import javax.json.JsonObject;
+
 import static com.metreeca.json.Values.*;
 import static com.metreeca.json.shapes.And.and;
 import static com.metreeca.rdf4j.SPARQLScribe.*;
@@ -53,31 +63,76 @@ final class GraphItems extends GraphFacts {
 		super(options);
 	}
 
+	GraphItems(final Options options, final Consumer<JsonObject> profile) {
+		super(options, profile);
+	}
+
 
 	Collection<Statement> process(final IRI resource, final Items items) {
+		return process(resource, items, cursor -> {});
+	}
+
+	/**
+	 * Retrieves a page of items.
+	 *
+	 * <p>Pages following a {@linkplain Items#after() cursor} are not free: the store still enumerates all matching
+	 * items and, for ordered pages, groups them to compute sort keys on the extreme values of sort paths; the cursor
+	 * condition prunes items on preceding pages before sorting (as a {@code having} clause on grouped items for
+	 * ordered pages), sparing the sort and skip of preceding items required by an {@code offset}. The cost of a page
+	 * is thus bounded by the total number of matches, rather than growing with page depth.</p>
+	 *
+	 * <p>Sort keys are ordered as follows: unbound values and blank nodes, which have no stable order across queries,
+	 * precede IRIs, which precede literals; literals are ordered by datatype and language, with numeric values
+	 * grouped together, and then by value; ties are broken on the following keys and eventually on the item
+	 * itself.</p>
+	 *
+	 * @param resource the target container
+	 * @param items    the items query
+	 * @param next     a consumer for the {@linkplain Items#cursor(List) continuation cursor} of the next page, notified
+	 *                 only if the page is full and further items may be available
+	 *
+	 * @return the description of the retrieved page
+	 */
+	Collection<Statement> process(final IRI resource, final Items items, final Consumer<String> next) {
 
 		final Shape shape=items.shape();
 		final List<Order> orders=items.orders();
+		final List<Value> after=items.after();
 		final int offset=items.offset();
 		final int limit=items.limit();
 
-		final Shape filter=shape
-				.filter(resource)
-				.resolve(resource)
-				.label(this::label);
+		final int size=limit > 0 && options.get(items()) > 0 ? Math.min(limit, options.get(items()))
+				: limit > 0 ? limit
+				: options.get(items());
 
-		final Shape convey=shape
-				.convey()
-				.resolve(resource)
-				.label(this::label);
+		final Shape filter=shape(() -> filtering(shape, resource).resolve(resource, this::label));
+		final Shape convey=shape(() -> conveying(shape).resolve(resource, this::label));
 
 		final Shape follow=and(orders.stream().map(Order::path).map(path -> path(convey, path)));
 		final Collection<Triple> template=convey.map(new TemplateProbe(root)).collect(toList());
 
+		final List<Scribe> keys=orders.stream() // sort keys, aggregated to sort multi-valued paths on extreme values
+				.map(order -> {
+
+					final Scribe value=var(hook(follow, order.path()));
+					final Scribe key=order.inverse() ? max(value) : min(value);
+
+					return is(isBlank(key), str(key), key); // blank nodes sort as unbound values (str() fails on them)
+
+				})
+				.collect(toList());
+
+		final List<String> aliases=IntStream.range(0, keys.size())
+				.mapToObj(index -> "k"+index)
+				.collect(toList());
+
 		final Collection<Statement> model=new LinkedHashSet<>();
 
-		evaluate(() -> graph.exec(connection -> {
-			connection.prepareTupleQuery(compile(() -> code(list(
+		final Collection<Value> matches=new HashSet<>();
+		final List<Value> last=new ArrayList<>();
+
+		graph.exec(connection -> {
+			evaluate(connection.prepareTupleQuery(compile(() -> list(
 
 					comment("items query"),
 
@@ -88,20 +143,47 @@ final class GraphItems extends GraphFacts {
 
 							space(block(
 
-									select(true, var(root)), // transfer matches as tuples to preserve order
+									select(true, list(Stream.concat( // transfer matches as tuples to preserve order
+											Stream.of(var(root)), aliases.stream().map(SPARQLScribe::var)
+									))),
 
-									block(
+									orders.isEmpty() ? block(
 
 											space(tree(filter, true)),
-											space(tree(follow, false))
+											space(tree(follow, false)),
+
+											after.isEmpty() ? nothing() : space(filter(seek(orders, keys, after)))
+
+									) : block(
+
+											space(block(
+
+													select(list(Stream.concat(
+															Stream.of(var(root)),
+															IntStream.range(0, keys.size()).mapToObj(index ->
+																	as(aliases.get(index), keys.get(index))
+															)
+													))),
+
+													block(
+															space(tree(filter, true)),
+															space(tree(follow, false))
+													),
+
+													group(var(root)),
+
+													after.isEmpty() ? nothing() : having(seek(orders, keys, after))
+
+											))
 
 									),
 
 									order(list(Stream.concat(
 
-											orders.stream().map(order ->
-													sort(order.inverse(), var(hook(follow, order.path())))
-											),
+											IntStream.range(0, keys.size()).boxed().flatMap(i -> Stream.of(
+													sort(orders.get(i).inverse(), rank(var(aliases.get(i)))),
+													sort(orders.get(i).inverse(), var(aliases.get(i)))
+											)),
 
 											Stream.of(asc(var(root))).filter(s -> // then root, unless already included
 													orders.stream().map(Order::path).noneMatch(List::isEmpty)
@@ -118,7 +200,7 @@ final class GraphItems extends GraphFacts {
 
 					))
 
-			)))).evaluate(new AbstractTupleQueryResultHandler() {
+			))), new AbstractTupleQueryResultHandler() {
 
 				@Override public void handleSolution(final BindingSet bindings) {
 
@@ -126,6 +208,15 @@ final class GraphItems extends GraphFacts {
 
 					if ( match != null ) {
 
+						if ( matches.add(match) ) {
+
+							last.clear();
+
+							aliases.forEach(alias -> last.add(bindings.getValue(alias)));
+							last.add(match);
+
+						}
+
 						if ( !match.equals(resource) ) {
 							model.add(statement(resource, Shape.Contains, match));
 						}
@@ -154,11 +245,151 @@ final class GraphItems extends GraphFacts {
 				}
 
 			});
-		}));
+		});
+
+		if ( size > 0 && matches.size() >= size ) {
+			next.accept(Items.cursor(last));
+		}
 
 		return model;
 	}
 
+	/**
+	 * Counts the total number of matching items.
+	 *
+	 * @param resource the target container
+	 * @param items    the items query
+	 *
+	 * @return the total number of items matching the filtering constraints of {@code items}, linked to {@code
+	 * resource} by a {@link Engine#count} property; ordering, offset, limit and cursor settings are ignored
+	 */
+	Collection<Statement> total(final IRI resource, final Items items) {
+
+		final Shape filter=shape(() -> filtering(items.shape(), resource).resolve(resource, this::label));
+
+		final Collection<Statement> model=new ArrayList<>();
+
+		graph.exec(connection -> {
+			evaluate(connection.prepareTupleQuery(compile(() -> list(
+
+					comment("count query"),
+
+					prefix(OWL.NS),
+					prefix(RDFS.NS),
+
+					space(select(space(indent(
+							as("count", count(true, var(root)))
+					)))),
+
+					space(where(
+
+							space(tree(filter, true)),
+
+							space(filter(neq(var(root), Scribe.text(resource)))) // as excluded from ldp:contains
+
+					))
+
+			))), new AbstractTupleQueryResultHandler() {
+				@Override public void handleSolution(final BindingSet bindings) {
+
+					// ;(virtuoso) counts are returned as xsd:int… cast to stay consistent
+
+					model.add(statement(resource, Engine.count, literal(
+							integer(bindings.getValue("count")).orElse(BigInteger.ZERO)
+					)));
+
+				}
+			});
+		});
+
+		return model;
+	}
+
+
+	/*
+	 * Generates a seek condition matching items strictly following the cursor values, according to the ordering of
+	 * sort keys; the condition may be evaluated either on the aggregated sort keys of grouped items or on the item
+	 * alone, so it doesn't rely on variable-only functions like bound().
+	 */
+	private Scribe seek(final List<Order> orders, final List<Scribe> keys, final List<Value> after) {
+
+		Scribe seek=follows(false, var(root), after.get(orders.size())); // tie-break on root
+
+		for (int i=orders.size()-1; i >= 0; --i) {
+
+			final Scribe key=keys.get(i);
+			final Value value=after.get(i) instanceof BNode ? null : after.get(i); // blank nodes sort as unbound
+
+			final Scribe follows=follows(orders.get(i).inverse(), key, value);
+			final Scribe equals=value == null ? not(defined(key)) : eq(key, Scribe.text(value));
+
+			seek=follows == null
+					? parens(SPARQLScribe.and(equals, parens(seek)))
+					: parens(or(follows, parens(SPARQLScribe.and(equals, parens(seek)))));
+		}
+
+		return seek;
+	}
+
+	private Scribe follows(final boolean inverse, final Scribe key, final Value value) {
+		return value == null || value instanceof BNode ? inverse ? null : defined(key)
+
+				: value instanceof Literal ? inverse
+				? or(beyond(true, key, (Literal)value), not(coalesce(isLiteral(key), text("false"))))
+				: beyond(false, key, (Literal)value)
+
+				: inverse
+				? or(parens(SPARQLScribe.and(isIRI(key), lt(str(key), string(value.stringValue())))),
+				not(defined(key)))
+				: or(parens(SPARQLScribe.and(isIRI(key), gt(str(key), string(value.stringValue())))),
+				isLiteral(key));
+	}
+
+	/*
+	 * Matches literal keys following a literal value, comparing values only within the same rank, so that keys of
+	 * mutually incomparable datatypes don't raise type errors.
+	 */
+	private Scribe beyond(final boolean inverse, final Scribe key, final Literal value) {
+
+		final BinaryOperator<Scribe> operator=inverse ? SPARQLScribe::lt : SPARQLScribe::gt;
+
+		final Scribe rank=string(rank(value));
+
+		return parens(or(
+				operator.apply(rank(key), rank),
+				parens(SPARQLScribe.and(eq(rank(key), rank), value.getLanguage().isPresent()
+						? operator.apply(str(key), string(value.getLabel())) // tagged literals are not comparable
+						: operator.apply(key, Scribe.text(value))
+				))
+		));
+	}
+
+
+	private Scribe not(final Scribe expression) {
+		return list(text(" !"), expression);
+	}
+
+	/*
+	 * Tests if a sort key is either an IRI or a literal, that is if it's neither unbound nor a blank node.
+	 */
+	private Scribe defined(final Scribe key) {
+		return coalesce(or(isIRI(key), isLiteral(key)), text("false"));
+	}
+
+	/*
+	 * Computes the rank of a literal sort key: numeric values share the same rank, other literals are ranked on
+	 * datatype and language; fails on other values.
+	 */
+	private Scribe rank(final Scribe key) {
+		return is(isNumeric(key), string(""), concat(str(datatype(key)), string("@"), lang(key)));
+	}
+
+	private String rank(final Literal value) {
+		return XMLDatatypeUtil.isNumericDatatype(value.getDatatype())
+				&& XMLDatatypeUtil.isValidValue(value.getLabel(), value.getDatatype()) ? ""
+				: value.getDatatype().stringValue()+"@"+value.getLanguage().orElse("");
+	}
+
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
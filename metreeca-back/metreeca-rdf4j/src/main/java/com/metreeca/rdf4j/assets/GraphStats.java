@@ -21,13 +21,14 @@ import com.metreeca.json.queries.Stats;
 import com.metreeca.rest.assets.Engine;
 
 import org.eclipse.rdf4j.model.*;
-import org.eclipse.rdf4j.model.vocabulary.OWL;
-import org.eclipse.rdf4j.model.vocabulary.RDFS;
 import org.eclipse.rdf4j.query.AbstractTupleQueryResultHandler;
 import org.eclipse.rdf4j.query.BindingSet;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.Consumer;
+
+import javax.json.JsonObject;
 
 import static com.metreeca.json.Values.*;
 import static com.metreeca.json.shapes.And.and;
@@ -39,6 +40,8 @@ import static com.metreeca.rest.Scribe.indent;
 import static com.metreeca.rest.Scribe.text;
 import static com.metreeca.rest.Scribe.*;
 
+import static java.util.Collections.emptyList;
+
 final class GraphStats extends GraphFacts {
 
 	private final Options options=options();
@@ -50,23 +53,33 @@ final class GraphStats extends GraphFacts {
 		super(options);
 	}
 
+	GraphStats(final Options options, final Consumer<JsonObject> profile) {
+		super(options, profile);
+	}
+
 
 	Collection<Statement> process(final IRI resource, final Stats stats) {
+		return process(resource, stats, emptyList());
+	}
+
+	/**
+	 * Retrieves stats.
+	 *
+	 * @param resource the target resource
+	 * @param stats    the stats query
+	 * @param langs    the accepted language tags for value {@linkplain #annotations(Collection, List) annotations}
+	 *
+	 * @return the description of the retrieved stats
+	 */
+	Collection<Statement> process(final IRI resource, final Stats stats, final List<String> langs) {
 
 		final Shape shape=stats.shape();
 		final List<IRI> path=stats.path();
 		final int offset=stats.offset();
 		final int limit=stats.limit();
 
-		final Shape filter=shape
-				.filter(resource)
-				.resolve(resource); // .filter() may introduce focus values › resolve afterwards
-
-		final Shape convey=shape
-				.convey()
-				.resolve(resource);
-
-		final Shape select=and(filter, path(convey, path)).label(this::label); // requires path to exist in convey
+		final Shape select=shape(() -> and(filtering(shape, resource), path(conveying(shape), path)) // requires path in convey
+				.resolve(resource, this::label)); // .filter() may introduce focus values › resolve afterwards
 
 		final String hook=hook(select, path);
 
@@ -77,91 +90,59 @@ final class GraphStats extends GraphFacts {
 		final Collection<Value> mins=new ArrayList<>();
 		final Collection<Value> maxs=new ArrayList<>();
 
-		evaluate(() -> graph.exec(connection -> {
-			connection.prepareTupleQuery(compile(() -> code(list(
+		final Collection<Value> values=new LinkedHashSet<>(); // types and ranges to be annotated
+
+		graph.exec(connection -> {
+			evaluate(connection.prepareTupleQuery(compile(() -> list(
 
 					comment("stats query"),
 
 					prefix(NS),
-					prefix(OWL.NS),
-					prefix(RDFS.NS),
-
-					space(select(), where(
-
-							space(block(
 
-									space(select(space(indent(
+					space(select(space(indent(
 
-											var("type"),
-											as("min", min(var(hook))),
-											as("max", max(var(hook))),
-											as("count", count(true, var(hook)))
+							var("type"),
+							as("min", min(var(hook))),
+							as("max", max(var(hook))),
+							as("count", count(true, var(hook)))
 
-									)))),
+					)))),
 
-									space(where(
+					space(where(
 
-											space(tree(select, true)),
+							space(tree(select, true)),
 
-											space(bind("type", is(
-													isBlank(var(hook)),
-													text(":bnode"),
-													is(
-															isIRI(var(hook)),
-															text(":iri"),
-															datatype(var(hook))
-													)
-											)))
-
-											// !!! sampling w/ options.stats()
-
-									)),
-
-									space(
-											line(group(var("type"))),
-											line(having(gt(count(true, var(hook)), text(0)))),
-											line(order(desc(var("count")), var("type"))),
-											line(offset(offset)),
-											line(limit(limit))
+							space(bind("type", is(
+									isBlank(var(hook)),
+									text(":bnode"),
+									is(
+											isIRI(var(hook)),
+											text(":iri"),
+											datatype(var(hook))
 									)
+							)))
 
-							)),
+							// !!! sampling w/ options.stats()
 
-							space(
-									line(optional(edge(var("type"), "rdfs:label", var("type_label")))),
-									line(optional(edge(var("type"), "rdfs:comment", var("type_notes"))))
-							),
+					)),
 
-							space(
-									line(optional(edge(var("min"), "rdfs:label", var("min_label")))),
-									line(optional(edge(var("min"), "rdfs:comment", var("min_notes"))))
-							),
+					space(
+							line(group(var("type"))),
+							line(having(gt(count(true, var(hook)), text(0)))),
+							line(order(desc(var("count")), var("type"))),
+							line(offset(offset)),
+							line(limit(limit))
+					)
 
-							space(
-									line(optional(edge(var("max"), "rdfs:label", var("max_label")))),
-									line(optional(edge(var("max"), "rdfs:comment", var("max_notes"))))
-							)
-
-					))
-
-			)))).evaluate(new AbstractTupleQueryResultHandler() {
+			))), new AbstractTupleQueryResultHandler() {
 
 				@Override public void handleSolution(final BindingSet bindings) {
 
 					final Resource type=(Resource)bindings.getValue("type");
 
-					final Value type_label=bindings.getValue("type_label");
-					final Value type_notes=bindings.getValue("type_notes");
-
 					final Value min=bindings.getValue("min");
 					final Value max=bindings.getValue("max");
 
-					final Value min_label=bindings.getValue("min_label");
-					final Value min_notes=bindings.getValue("min_notes");
-
-					final Value max_label=bindings.getValue("max_label");
-					final Value max_notes=bindings.getValue("max_notes");
-
 					// ;(virtuoso) counts are returned as xsd:int… cast to stay consistent
 
 					final BigInteger count=integer(bindings.getValue("count")).orElse(BigInteger.ZERO);
@@ -169,27 +150,22 @@ final class GraphStats extends GraphFacts {
 					model.add(statement(resource, Engine.stats, type));
 					model.add(statement(type, Engine.count, literal(count)));
 
-					if ( type_label != null ) { model.add(statement(type, RDFS.LABEL, type_label)); }
-					if ( type_notes != null ) { model.add(statement(type, RDFS.COMMENT, type_notes)); }
-
 					if ( min != null ) { model.add(statement(type, Engine.min, min)); }
 					if ( max != null ) { model.add(statement(type, Engine.max, max)); }
 
-					if ( min_label != null ) { model.add(statement((Resource)min, RDFS.LABEL, min_label)); }
-					if ( min_notes != null ) { model.add(statement((Resource)min, RDFS.COMMENT, min_notes)); }
-
-					if ( max_label != null ) { model.add(statement((Resource)max, RDFS.LABEL, max_label)); }
-					if ( max_notes != null ) { model.add(statement((Resource)max, RDFS.COMMENT, max_notes)); }
+					values.add(type);
 
 					counts.putIfAbsent(type, count);
 
-					if ( min != null ) { mins.add(min); }
-					if ( max != null ) { maxs.add(max); }
+					if ( min != null ) { mins.add(min); values.add(min); }
+					if ( max != null ) { maxs.add(max); values.add(max); }
 
 				}
 
 			});
-		}));
+		});
+
+		model.addAll(annotations(values, langs));
 
 		model.add(statement(resource, Engine.count, literal(counts.values().stream()
 				.reduce(BigInteger.ZERO, BigInteger::add)
@@ -21,12 +21,13 @@ import com.metreeca.json.queries.Terms;
 import com.metreeca.rest.assets.Engine;
 
 import org.eclipse.rdf4j.model.*;
-import org.eclipse.rdf4j.model.vocabulary.OWL;
-import org.eclipse.rdf4j.model.vocabulary.RDFS;
 import org.eclipse.rdf4j.query.*;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.Consumer;
+
+import javax.json.JsonObject;
 
 import static com.metreeca.json.Values.*;
 import static com.metreeca.json.shapes.And.and;
@@ -37,6 +38,8 @@ import static com.metreeca.rest.Scribe.indent;
 import static com.metreeca.rest.Scribe.text;
 import static com.metreeca.rest.Scribe.*;
 
+import static java.util.Collections.emptyList;
+
 final class GraphTerms extends GraphFacts {
 
 	private final Options options=options();
@@ -48,71 +51,66 @@ final class GraphTerms extends GraphFacts {
 		super(options);
 	}
 
+	GraphTerms(final Options options, final Consumer<JsonObject> profile) {
+		super(options, profile);
+	}
+
 
 	Collection<Statement> process(final IRI resource, final Terms terms) {
+		return process(resource, terms, emptyList());
+	}
+
+	/**
+	 * Retrieves terms.
+	 *
+	 * @param resource the target resource
+	 * @param terms    the terms query
+	 * @param langs    the accepted language tags for value {@linkplain #annotations(Collection, List) annotations}
+	 *
+	 * @return the description of the retrieved terms
+	 */
+	Collection<Statement> process(final IRI resource, final Terms terms, final List<String> langs) {
 
 		final Shape shape=terms.shape();
 		final List<IRI> path=terms.path();
 		final int offset=terms.offset();
 		final int limit=terms.limit();
 
-		final Shape filter=shape
-				.filter(resource)
-				.resolve(resource); // .filter() may introduce focus values › resolve afterwards
-
-		final Shape convey=shape
-				.convey()
-				.resolve(resource);
-
-		final Shape select=and(filter, path(convey, path)).label(this::label); // requires path to exist in convey
+		final Shape select=shape(() -> and(filtering(shape, resource), path(conveying(shape), path)) // requires path in convey
+				.resolve(resource, this::label)); // .filter() may introduce focus values › resolve afterwards
 
 		final String hook=hook(select, path);
 
 		final Collection<Statement> model=new LinkedHashSet<>();
+		final Collection<Value> values=new ArrayList<>();
 
-		evaluate(() -> graph.exec(connection -> {
-			connection.prepareTupleQuery(compile(() -> code(list(
+		graph.exec(connection -> {
+			evaluate(connection.prepareTupleQuery(compile(() -> list(
 
 					comment("terms query"),
 
-					prefix(OWL.NS),
-					prefix(RDFS.NS),
+					space(select(space(indent(
+							as("value", var(hook)),
+							as("count", count(true, var(root)))
+					)))),
 
-					space(select(), where(
+					space(where(
 
-							space(block(
+							space(tree(select, true))
 
-									space(select(space(indent(
-											as("value", var(hook)),
-											as("count", count(true, var(root)))
-									)))),
+							// !!! sampling w/ options.stats()
 
-									space(where(
+					)),
 
-											space(tree(select, true))
+					space(
+							line(group(var(hook))),
+							line(having(gt(count(var(root)), text(0)))),
+							line(order(desc(var("count")), var("value"))),
+							line(offset(offset)),
+							line(limit(limit))
+					)
 
-											// !!! sampling w/ options.stats()
-
-									)),
-
-									space(
-											line(group(var(hook))),
-											line(having(gt(count(var(root)), text(0)))),
-											line(order(desc(var("count")), var("value"))),
-											line(offset(offset)),
-											line(limit(limit))
-									)
-
-							)),
-
-							space(
-									line(optional(edge(var("value"), "rdfs:label", var("label")))),
-									line(optional(edge(var("value"), "rdfs:comment", var("notes"))))
-							)
-
-					))
-
-			)))).evaluate(new AbstractTupleQueryResultHandler() {
+			))), new AbstractTupleQueryResultHandler() {
 				@Override public void handleSolution(final BindingSet bindings) throws TupleQueryResultHandlerException {
 
 					// ;(virtuoso) counts are returned as xsd:int… cast to stay consistent
@@ -120,22 +118,20 @@ final class GraphTerms extends GraphFacts {
 					final Value value=bindings.getValue("value");
 					final Value count=literal(integer(bindings.getValue("count")).orElse(BigInteger.ZERO));
 
-					final Value label=bindings.getValue("label");
-					final Value notes=bindings.getValue("notes");
-
-					final BNode term=bnode(md5(format(value)));
+					final BNode term=bnode(hash(format(value)));
 
 					model.add(statement(resource, Engine.terms, term));
 
 					model.add(statement(term, Engine.value, value));
 					model.add(statement(term, Engine.count, count));
 
-					if ( label != null ) { model.add(statement((Resource)value, RDFS.LABEL, label)); }
-					if ( notes != null ) { model.add(statement((Resource)value, RDFS.COMMENT, notes)); }
+					values.add(value);
 
 				}
 			});
-		}));
+		});
+
+		model.addAll(annotations(values, langs));
 
 		return model;
 	}
@@ -19,14 +19,25 @@ package com.metreeca.rdf4j.assets;
 import com.metreeca.json.*;
 import com.metreeca.rest.Request;
 import com.metreeca.rest.Response;
+import com.metreeca.rest.assets.Engine;
+import com.metreeca.rest.assets.Metrics;
 
 import org.assertj.core.api.Assertions;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.vocabulary.*;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.json.JsonArray;
+
 import static com.metreeca.json.Shape.required;
 import static com.metreeca.json.Values.*;
 import static com.metreeca.json.ValuesTest.decode;
@@ -38,14 +49,21 @@ import static com.metreeca.json.shapes.Field.field;
 import static com.metreeca.json.shapes.Guard.filter;
 import static com.metreeca.json.shapes.MaxLength.maxLength;
 import static com.metreeca.json.shapes.Pattern.pattern;
+import static com.metreeca.rdf4j.assets.Graph.graph;
 import static com.metreeca.rdf4j.assets.GraphFactsTest.EmployeeShape;
 import static com.metreeca.rdf4j.assets.GraphTest.exec;
 import static com.metreeca.rdf4j.assets.GraphTest.model;
+import static com.metreeca.rest.Context.asset;
 import static com.metreeca.rest.Response.*;
 import static com.metreeca.rest.ResponseAssert.assertThat;
+import static com.metreeca.rest.assets.Metrics.metrics;
+import static com.metreeca.rest.formats.JSONFormat.json;
 import static com.metreeca.rest.formats.JSONLDFormat.jsonld;
 import static com.metreeca.rest.formats.JSONLDFormat.shape;
 
+import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toMap;
+
 final class GraphEngineTest {
 
 	@Nested final class Create {
@@ -158,6 +176,69 @@ final class GraphEngineTest {
 			);
 		}
 
+		@Test void testRelateConditionally() {
+			exec(model(small()), () -> {
+
+				final GraphEngine engine=new GraphEngine();
+
+				final Collection<String> etags=new ArrayList<>();
+
+				engine.relate(request()).accept(response -> response.header("ETag").ifPresent(etags::add));
+
+				final String etag=etags.stream().findFirst().orElse("");
+
+				Assertions.assertThat(etag).as("weak entity tag").startsWith("W/\"");
+
+				engine.relate(request().header("If-None-Match", etag)).accept(response -> assertThat(response)
+						.hasStatus(NotModified)
+						.hasHeader("ETag", etag)
+						.hasHeader("Cache-Control", "no-cache")
+						.doesNotHaveBody()
+				);
+
+				asset(graph()).exec(connection -> { connection.add(item("employees/1370"), RDF.VALUE, RDF.NIL); });
+
+				engine.relate(request().header("If-None-Match", etag)).accept(response -> assertThat(response)
+						.as("modified after graph changes")
+						.hasStatus(OK)
+						.hasHeader("ETag", value -> Assertions.assertThat(value).isNotEqualTo(etag))
+				);
+
+			});
+		}
+
+		@Test void testTagLocalizedRepresentations() {
+			exec(model(small()), () -> {
+
+				final GraphEngine engine=new GraphEngine();
+
+				final Collection<String> etags=new ArrayList<>();
+
+				engine.relate(request().header("Accept-Language", "en")).accept(response -> assertThat(response)
+						.hasHeader("Vary", "Accept, Accept-Language, Prefer")
+						.hasHeader("ETag", etags::add)
+				);
+
+				engine.relate(request().header("Accept-Language", "it")).accept(response -> assertThat(response)
+						.hasHeader("ETag", etags::add)
+				);
+
+				Assertions.assertThat(etags).as("language-specific tags").doesNotHaveDuplicates().hasSize(2);
+
+			});
+		}
+
+		@Test void testIgnoreWildcardTagsForUnknownResources() {
+			exec(model(small()), () -> new GraphEngine()
+
+					.relate(request().path("/employees/9999").header("If-None-Match", "*"))
+
+					.accept(response -> assertThat(response)
+							.hasStatus(NotFound)
+					)
+			);
+		}
+
 	}
 
 	@Nested final class Browse {
@@ -216,6 +297,220 @@ final class GraphEngineTest {
 			);
 		}
 
+		@Test void testAdvertiseNextPage() {
+			exec(model(small()), () -> new GraphEngine()
+
+					.browse(request()
+							.query(".order=label&.offset=1&.limit=2")
+					)
+
+					.accept(response -> assertThat(response)
+
+							.hasStatus(OK)
+							.hasHeader("Link", link -> Assertions.assertThat(link)
+									.startsWith("</employees/?.order=label&.limit=2&.after=")
+									.endsWith(">; rel=\"next\"")
+							)
+
+					)
+			);
+		}
+
+		@Test void testOmitNextPageOnPartialPages() {
+			exec(model(small()), () -> new GraphEngine()
+
+					.browse(request()
+							.query(".limit=1000")
+					)
+
+					.accept(response -> assertThat(response)
+							.hasStatus(OK)
+							.doesNotHaveHeader("Link")
+					)
+			);
+		}
+
+		@Test void testCountItems() {
+			exec(model(small()), () -> {
+
+				final int total=model("construct { ?e a :Employee } where { ?e a :Employee }").size();
+
+				new GraphEngine().browse(request().header("Prefer", "count").query(".limit=2")).accept(response ->
+						assertThat(response)
+
+								.hasStatus(OK)
+								.hasHeader("Preference-Applied", "count")
+								.hasAttribute(shape(), shape -> Assertions.assertThat(shape).isNotEqualTo(and()))
+
+								.hasBody(jsonld(), rdf -> {
+
+									ModelAssert.assertThat(rdf)
+											.as("total matching the filter")
+											.hasStatement(iri(response.item()), Engine.count, literal(BigInteger.valueOf(total)));
+
+									Assertions.assertThat(rdf.stream()
+											.filter(statement -> statement.getPredicate().equals(Shape.Contains))
+									)
+											.as("page only")
+											.hasSize(2);
+
+								})
+				);
+
+			});
+		}
+
+		@Test void testEstimateCounts() {
+			exec(model(small()), () -> {
+
+				final GraphEngine engine=new GraphEngine().set(GraphEngine.parallelism(), 2);
+
+				final int total=model("construct { ?e a :Employee } where { ?e a :Employee }").size();
+
+				final Request estimate=request().header("Prefer", "count=estimate").query(".limit=1");
+				final Request exact=request().header("Prefer", "count").query(".limit=1");
+
+				engine.browse(estimate).accept(response -> {});
+
+				asset(graph()).exec(connection -> {
+					connection.add(statement(item("employees/9999"), RDF.TYPE, term("Employee")));
+				});
+
+				engine.browse(estimate).accept(response -> assertThat(response)
+						.hasHeader("Preference-Applied", "count=estimate")
+						.hasBody(jsonld(), rdf -> ModelAssert.assertThat(rdf)
+								.as("cached estimate")
+								.hasStatement(iri(response.item()), Engine.count, literal(BigInteger.valueOf(total)))
+						)
+				);
+
+				engine.browse(exact).accept(response -> assertThat(response)
+						.hasBody(jsonld(), rdf -> ModelAssert.assertThat(rdf)
+								.as("exact count")
+								.hasStatement(iri(response.item()), Engine.count, literal(BigInteger.valueOf(total+1)))
+						)
+				);
+
+			});
+		}
+
+		@Test void testCacheFacets() {
+			exec(model(small()), () -> {
+
+				final GraphEngine engine=new GraphEngine();
+				final Metrics metrics=asset(metrics());
+
+				final Request request=request().query(".terms=office");
+
+				engine.browse(request).accept(response -> {});
+				engine.browse(request).accept(response -> {});
+
+				Assertions.assertThat(metrics.counter("GraphEngine.facets.hits").count())
+						.as("cached")
+						.isEqualTo(1);
+
+				asset(graph()).exec(connection -> { connection.remove((Resource)null, term("office"), null); });
+
+				engine.browse(request).accept(response -> assertThat(response)
+						.hasBody(jsonld(), rdf -> ModelAssert.assertThat(rdf)
+								.as("invalidated on graph changes")
+								.doesNotHaveStatement(null, Engine.terms, null)
+						)
+				);
+
+			});
+		}
+
+		@Test void testCombineFacets() {
+			exec(model(small()), () -> {
+
+				final GraphEngine engine=new GraphEngine().set(GraphEngine.parallelism(), 4);
+
+				final Collection<Statement> offices=new ArrayList<>();
+
+				engine.browse(request().query(".terms=office")).accept(response -> assertThat(response)
+						.hasBody(jsonld(), offices::addAll)
+				);
+
+				engine.browse(request().query(".terms=office&.terms=title&.stats=seniority")).accept(response ->
+						assertThat(response)
+
+								.hasStatus(OK)
+								.hasAttribute(shape(), shape -> Assertions.assertThat(shape).isNotEqualTo(and()))
+
+								.hasBody(jsonld(), rdf -> {
+
+									final Map<String, Resource> facets=rdf.stream()
+											.filter(statement -> statement.getPredicate().equals(Engine.facet))
+											.collect(toMap(s -> s.getObject().stringValue(), Statement::getSubject));
+
+									Assertions.assertThat(facets)
+											.containsOnlyKeys("office", "title", "seniority");
+
+									Assertions.assertThat(rdf.stream()
+											.filter(s -> s.getSubject().equals(facets.get("office")))
+											.filter(s -> s.getPredicate().equals(Engine.terms))
+									)
+											.as("same terms as standalone query")
+											.hasSameSizeAs(offices.stream()
+													.filter(s -> s.getPredicate().equals(Engine.terms))
+													.toArray()
+											);
+
+									ModelAssert.assertThat(rdf)
+											.hasStatement(facets.get("title"), Engine.terms, null)
+											.hasStatement(facets.get("seniority"), Engine.count, null)
+											.hasStatement(facets.get("seniority"), Engine.stats, null);
+
+								})
+				);
+
+			});
+		}
+
+		@Test void testProfileQueries() {
+			exec(model(small()), () -> {
+
+				final GraphEngine engine=new GraphEngine().set(GraphEngine.profiling(), singleton("profiler"));
+
+				engine.browse(request().roles("profiler").header("Prefer", "profile").query(".terms=office"))
+						.accept(response -> assertThat(response)
+
+								.hasStatus(OK)
+								.hasHeader("Preference-Applied", "profile")
+								.hasHeader("Cache-Control", "no-store")
+								.hasHeader("Vary", "Prefer")
+
+								.hasBody(json(), json -> {
+
+									final JsonArray queries=json.getJsonArray("queries");
+
+									Assertions.assertThat(queries)
+											.as("terms and annotations queries")
+											.hasSize(2);
+
+									Assertions.assertThat(queries.getJsonObject(0).getString("query"))
+											.contains("terms query");
+
+									Assertions.assertThat(queries.getJsonObject(0))
+											.containsKeys("shape", "generate", "evaluate", "plan");
+
+									Assertions.assertThat(json)
+											.containsKeys("statements", "encode", "size");
+
+								})
+						);
+
+				engine.browse(request().header("Prefer", "profile").query(".terms=office"))
+						.accept(response -> assertThat(response)
+								.as("profiling restricted to enabled roles")
+								.doesNotHaveHeader("Preference-Applied")
+								.hasBody(jsonld())
+						);
+
+			});
+		}
+
 		@Test void testSliceTermsQueries() {
 			exec(model(small()), () -> new GraphEngine()
 
@@ -302,6 +597,44 @@ final class GraphEngineTest {
 					}));
 		}
 
+		@Test void testSkipUnchangedStatements() {
+			exec(model(small()), () -> {
+
+				final Request request=new Request()
+						.base(Base)
+						.path("/employees/1370")
+						.attribute(shape(), and(
+								field(term("forename"), required()),
+								field(term("surname"), required())
+						))
+						.body(jsonld(), decode("</employees/1370>"
+								+":forename 'Tino';"
+								+":surname 'Faussone'."
+						));
+
+				final GraphEngine engine=new GraphEngine();
+				final Graph graph=asset(graph());
+
+				engine.update(request).accept(response -> {});
+
+				final long version=graph.version();
+				final Model snapshot=model();
+
+				engine.update(request).accept(response -> assertThat(response)
+						.hasStatus(NoContent)
+				);
+
+				Assertions.assertThat(graph.version())
+						.as("no changes written")
+						.isEqualTo(version);
+
+				ModelAssert.assertThat(model())
+						.as("graph unchanged")
+						.isIsomorphicTo(snapshot);
+
+			});
+		}
+
 		@Test void testReportMissing() {
 			exec(() -> new GraphEngine()
 
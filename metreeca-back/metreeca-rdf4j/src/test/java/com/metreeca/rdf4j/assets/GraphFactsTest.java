@@ -213,6 +213,30 @@ final class GraphFactsTest {
 			)));
 		}
 
+		@Test void testResolveCachedFormsAgainstEachTarget() {
+
+			final Shape shape=and(
+					filter(field(inverse(LDP.CONTAINS), focus())),
+					convey(field(RDFS.LABEL))
+			);
+
+			exec(() -> {
+
+				assertThat(query(item("/employees-basic/"), shape)).isIsomorphicTo(graph(
+
+						"construct where { </employees-basic/> ldp:contains [rdfs:label ?label] }"
+
+				));
+
+				assertThat(query(item("/employees/"), shape)).isIsomorphicTo(graph(
+
+						"construct where { </employees/> ldp:contains [rdfs:label ?label] }"
+
+				));
+
+			});
+		}
+
 	}
 
 	@Nested final class ValueConstraints {
@@ -16,25 +16,28 @@
 
 package com.metreeca.rdf4j.assets;
 
+import com.metreeca.json.Order;
 import com.metreeca.json.Shape;
 import com.metreeca.json.Values;
 import com.metreeca.json.queries.Items;
 
+import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.vocabulary.*;
 import org.junit.jupiter.api.Test;
 
-import java.util.Collection;
-import java.util.List;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.*;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static com.metreeca.json.ModelAssert.assertThat;
 import static com.metreeca.json.Order.decreasing;
 import static com.metreeca.json.Order.increasing;
-import static com.metreeca.json.Values.Root;
-import static com.metreeca.json.Values.term;
+import static com.metreeca.json.Values.*;
 import static com.metreeca.json.queries.Items.items;
 import static com.metreeca.json.shapes.All.all;
 import static com.metreeca.json.shapes.And.and;
@@ -42,12 +45,16 @@ import static com.metreeca.json.shapes.Clazz.clazz;
 import static com.metreeca.json.shapes.Field.field;
 import static com.metreeca.json.shapes.Guard.filter;
 import static com.metreeca.json.shapes.Link.link;
+import static com.metreeca.rdf4j.assets.Graph.graph;
 import static com.metreeca.rdf4j.assets.GraphFactsTest.exec;
 import static com.metreeca.rdf4j.assets.GraphTest.tuples;
 
+import static com.metreeca.rest.Context.asset;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
@@ -166,6 +173,107 @@ final class GraphItemsTest {
 		});
 	}
 
+	@Test void testSeeking() {
+		exec(() -> {
+
+			final Shape shape=and(
+					filter(clazz(term("Employee"))), field(RDFS.LABEL), field(term("office"))
+			);
+
+			for (final List<Order> orders : asList(
+					Collections.<Order>emptyList(),
+					singletonList(increasing(RDFS.LABEL)),
+					singletonList(decreasing(RDFS.LABEL)),
+					asList(increasing(term("office")), decreasing(RDFS.LABEL)),
+					singletonList(decreasing())
+			)) {
+				assertThat(paged(shape, orders))
+						.as("paged %s", orders)
+						.isNotEmpty()
+						.containsExactlyElementsOf(full(shape, orders));
+			}
+
+		});
+	}
+
+	@Test void testSeekingOnMixedKeys() {
+		exec(() -> {
+
+			final Shape shape=and(
+					filter(clazz(term("Employee"))), field(RDFS.LABEL), field(term("code"))
+			);
+
+			final List<Value> codes=asList(
+					bnode(), bnode(), item("codes/2"), item("codes/1"),
+					literal(1), literal(new BigDecimal("1.5")), literal(new BigInteger("1")), literal(3),
+					literal("abc"), literal("abd", "en"), literal("abc", "it"), literal("abc", "en"),
+					literal(LocalDate.of(2021, 1, 1)), literal(true), literal("1")
+			);
+
+			final List<Value> employees=full(shape, emptyList());
+
+			asset(graph()).exec(connection -> {
+				for (int i=0; i < employees.size(); ++i) {
+
+					final Resource employee=(Resource)employees.get(i);
+
+					if ( i%(codes.size()+1) < codes.size() ) { // leave some employees without codes
+						connection.add(employee, term("code"), codes.get(i%(codes.size()+1)));
+					}
+
+					if ( i%7 == 0 ) { // multi-valued keys
+						connection.add(employee, term("code"), codes.get((i+5)%codes.size()));
+					}
+
+				}
+			});
+
+			for (final List<Order> orders : asList(
+					singletonList(increasing(term("code"))),
+					singletonList(decreasing(term("code"))),
+					asList(increasing(term("code")), decreasing(RDFS.LABEL)),
+					asList(decreasing(term("code")), increasing(RDFS.LABEL))
+			)) {
+				assertThat(paged(shape, orders))
+						.as("paged %s", orders)
+						.hasSameSizeAs(employees)
+						.containsExactlyElementsOf(full(shape, orders));
+			}
+
+		});
+	}
+
+	private List<Value> paged(final Shape shape, final List<Order> orders) {
+
+		final List<Value> matches=new ArrayList<>();
+
+		for (List<Value> after=emptyList(); after != null; ) {
+
+			final List<String> next=new ArrayList<>();
+
+			new GraphItems(options())
+					.process(Root, new Items(shape, emptyList(), orders, after, 0, 3), next::add)
+					.stream()
+					.filter(Values.pattern(null, Shape.Contains, null))
+					.map(Statement::getObject)
+					.distinct()
+					.forEach(matches::add);
+
+			after=next.isEmpty() ? null : Items.cursor(next.get(0));
+		}
+
+		return matches;
+	}
+
+	private List<Value> full(final Shape shape, final List<Order> orders) {
+		return query(items(shape, orders))
+				.stream()
+				.filter(Values.pattern(null, Shape.Contains, null))
+				.map(Statement::getObject)
+				.distinct()
+				.collect(toList());
+	}
+
 	@Test void testSortingWithLink() {
 		exec(() -> assertThat(
 
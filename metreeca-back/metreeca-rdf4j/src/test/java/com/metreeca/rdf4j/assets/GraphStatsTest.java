@@ -18,7 +18,9 @@ package com.metreeca.rdf4j.assets;
 
 import com.metreeca.json.queries.Stats;
 import com.metreeca.rest.Xtream;
+import com.metreeca.rest.assets.Engine;
 
+import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.vocabulary.*;
 import org.junit.jupiter.api.Nested;
@@ -38,9 +40,12 @@ import static com.metreeca.json.shapes.Field.field;
 import static com.metreeca.json.shapes.Guard.filter;
 import static com.metreeca.json.shapes.Link.link;
 import static com.metreeca.json.shapes.MinInclusive.minInclusive;
+import static com.metreeca.rdf4j.assets.Graph.graph;
 import static com.metreeca.rdf4j.assets.GraphFactsTest.exec;
 import static com.metreeca.rdf4j.assets.GraphTest.graph;
 
+import static com.metreeca.rest.Context.asset;
+
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import static java.util.Arrays.asList;
@@ -150,6 +155,29 @@ final class GraphStatsTest {
 		)));
 	}
 
+	@Test void testHandleBlankNodeValues() {
+		exec(() -> {
+
+			final BNode address=bnode();
+
+			asset(graph()).exec(connection -> { connection.add(asList(
+					statement(item("offices/1"), term("address"), address),
+					statement(address, RDFS.LABEL, literal("Address"))
+			)); });
+
+			assertThat(query(stats(
+					and(filter(clazz(term("Office"))), field(term("address"))),
+					singletonList(term("address")),
+					0, 0
+			)))
+					.hasStatement(term("bnode"), Engine.min, address)
+					.hasStatement(term("bnode"), Engine.max, address)
+					.doesNotHaveStatement(address, RDFS.LABEL, null);
+
+		});
+	}
+
+
 	@Nested final class AnchoringPaths {
 
 		@Test void testReportUnknownSteps() {
@@ -19,7 +19,9 @@ package com.metreeca.rdf4j.assets;
 import com.metreeca.json.Values;
 import com.metreeca.json.queries.Terms;
 import com.metreeca.rest.Xtream;
+import com.metreeca.rest.assets.Engine;
 
+import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.vocabulary.*;
 import org.junit.jupiter.api.Nested;
@@ -38,8 +40,10 @@ import static com.metreeca.json.shapes.Field.field;
 import static com.metreeca.json.shapes.Guard.filter;
 import static com.metreeca.json.shapes.Link.link;
 import static com.metreeca.json.shapes.MinInclusive.minInclusive;
+import static com.metreeca.rdf4j.assets.Graph.graph;
 import static com.metreeca.rdf4j.assets.GraphFactsTest.exec;
 import static com.metreeca.rdf4j.assets.GraphTest.graph;
+import static com.metreeca.rest.Context.asset;
 
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
@@ -141,6 +145,67 @@ final class GraphTermsTest {
 	}
 
 
+	@Test void testRefreshCachedAnnotationsOnUpdates() {
+		exec(() -> {
+
+			final Terms terms=terms(filter(clazz(term("Office"))), emptyList(), 0, 0);
+			final Statement label=statement(item("offices/1"), RDFS.LABEL, literal("Updated"));
+
+			assertThat(query(terms)).doesNotHaveStatement(item("offices/1"), RDFS.LABEL, literal("Updated"));
+
+			asset(graph()).exec(connection -> { connection.add(label); });
+
+			assertThat(query(terms)).hasStatement(item("offices/1"), RDFS.LABEL, literal("Updated"));
+
+		});
+	}
+
+
+	@Test void testFilterAnnotationsByLanguage() {
+		exec(() -> {
+
+			final Terms terms=terms(filter(clazz(term("Office"))), emptyList(), 0, 0);
+
+			final Statement en=statement(item("offices/1"), RDFS.LABEL, literal("Office", "en"));
+			final Statement it=statement(item("offices/1"), RDFS.LABEL, literal("Ufficio", "it"));
+
+			asset(graph()).exec(connection -> { connection.add(asList(en, it)); });
+
+			assertThat(new GraphTerms(options()).process(Values.Root, terms, singletonList("en")))
+					.hasStatement(en.getSubject(), en.getPredicate(), en.getObject())
+					.doesNotHaveStatement(it.getSubject(), it.getPredicate(), it.getObject());
+
+			assertThat(new GraphTerms(options()).process(Values.Root, terms, singletonList("*")))
+					.as("wildcard")
+					.hasStatement(en.getSubject(), en.getPredicate(), en.getObject())
+					.hasStatement(it.getSubject(), it.getPredicate(), it.getObject());
+
+		});
+	}
+
+
+	@Test void testHandleBlankNodeValues() {
+		exec(() -> {
+
+			final BNode address=bnode();
+
+			asset(graph()).exec(connection -> { connection.add(asList(
+					statement(item("offices/1"), term("address"), address),
+					statement(address, RDFS.LABEL, literal("Address"))
+			)); });
+
+			assertThat(query(terms(
+					and(filter(clazz(term("Office"))), field(term("address"))),
+					singletonList(term("address")),
+					0, 0
+			)))
+					.hasStatement(null, Engine.value, address)
+					.doesNotHaveStatement(address, RDFS.LABEL, null);
+
+		});
+	}
+
+
 	@Nested final class AnchoringPaths {
 
 		@Test void testReportUnknownSteps() {
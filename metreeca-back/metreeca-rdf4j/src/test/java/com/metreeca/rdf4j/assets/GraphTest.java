@@ -42,6 +42,8 @@ import static com.metreeca.json.ValuesTest.Prefixes;
 import static com.metreeca.json.ValuesTest.decode;
 import static com.metreeca.rest.Context.asset;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
@@ -190,6 +192,37 @@ public final class GraphTest {
 	}
 
 
+	@Test void testBumpVersionOnCommittedChanges() {
+		exec(() -> {
+
+			final Graph graph=asset(Graph.graph());
+
+			final long initial=graph.version();
+
+			graph.exec(connection -> { connection.hasStatement(data, true); });
+
+			assertThat(graph.version()).as("unchanged on reads").isEqualTo(initial);
+
+			graph.exec(connection -> { connection.add(data); });
+
+			assertThat(graph.version()).as("bumped on auto-commit changes").isGreaterThan(initial);
+
+			final long committed=graph.version();
+
+			graph.exec(Graph.txn(connection -> {
+
+				connection.remove(data);
+
+				assertThat(graph.version()).as("uncommitted changes").isNegative();
+
+			}));
+
+			assertThat(graph.version()).as("bumped on commit").isGreaterThan(committed);
+
+		});
+	}
+
+
 	public static Model model(final Resource... contexts) {
 		return asset(Graph.graph()).exec(connection -> { return export(connection, contexts); });
 	}
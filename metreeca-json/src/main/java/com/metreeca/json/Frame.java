@@ -57,10 +57,27 @@ public final class Frame {
 			throw new NullPointerException("null focus");
 		}
 
-		return new Frame(focus, emptySet());
+		return new Frame(focus, Model.empty());
 	}
 
 	public static Frame frame(final Value focus, final Collection<Statement> model) {
+		return frame(focus, model, 0);
+	}
+
+	/**
+	 * Creates a frame from a reachable sub-model.
+	 *
+	 * @param focus the focus value of the new frame
+	 * @param model the source model
+	 * @param depth the maximum number of hops from {@code focus} to be included in the frame; 0 for no limits
+	 *
+	 * @return a new frame including the statements of {@code model} reachable from {@code focus} within {@code
+	 * depth} hops
+	 *
+	 * @throws NullPointerException     if either {@code focus} or {@code model} is null or contains null values
+	 * @throws IllegalArgumentException if {@code depth} is negative
+	 */
+	public static Frame frame(final Value focus, final Collection<Statement> model, final int depth) {
 
 		if ( focus == null ) {
 			throw new NullPointerException("null focus");
@@ -70,30 +87,37 @@ public final class Frame {
 			throw new NullPointerException("null model or model statement");
 		}
 
+		if ( depth < 0 ) {
+			throw new IllegalArgumentException("negative depth");
+		}
+
+		final Links links=model instanceof Model ? ((Model)model).links() : new Links(model);
+
 		final Set<Statement> statements=new LinkedHashSet<>();
+		final Set<Value> visited=new HashSet<>(singleton(focus));
 
-		final Collection<Value> visited=new HashSet<>();
-		final Queue<Value> pending=new ArrayDeque<>(singleton(focus));
+		Collection<Value> pending=singleton(focus);
 
-		while ( !pending.isEmpty() ) {
+		for (int hops=0; !pending.isEmpty() && (depth == 0 || hops < depth); ++hops) {
 
-			final Value value=pending.poll();
+			final Collection<Value> next=new ArrayList<>();
 
-			if ( visited.add(value) ) {
-				model.forEach(s -> {
-					if ( value.equals(s.getSubject()) || value.equals(s.getObject()) ) {
+			for (final Value value : pending) {
+				for (final Statement statement : links.get(value)) {
+					if ( statements.add(statement) ) {
 
-						pending.add(s.getSubject());
-						pending.add(s.getPredicate());
-						pending.add(s.getObject());
+						if ( visited.add(statement.getSubject()) ) { next.add(statement.getSubject()); }
+						if ( visited.add(statement.getPredicate()) ) { next.add(statement.getPredicate()); }
+						if ( visited.add(statement.getObject()) ) { next.add(statement.getObject()); }
 
-						statements.add(s);
 					}
-				});
+				}
 			}
+
+			pending=next;
 		}
 
-		return new Frame(focus, statements);
+		return new Frame(focus, Model.empty().with(statements));
 	}
 
 
@@ -107,11 +131,11 @@ public final class Frame {
 
 		return traverse(path,
 
-				direct -> (focus, model) -> model.stream()
+				direct -> (focus, model) -> statements(focus, model)
 						.filter(s -> focus.equals(s.getSubject()) && direct.equals(s.getPredicate()))
 						.map(Statement::getObject),
 
-				inverse -> (focus, model) -> model.stream()
+				inverse -> (focus, model) -> statements(focus, model)
 						.filter(s -> inverse.equals(s.getPredicate()) && focus.equals(s.getObject()))
 						.map(Statement::getSubject)
 
@@ -167,13 +191,18 @@ public final class Frame {
 	}
 
 
+	private static Stream<Statement> statements(final Value focus, final Collection<Statement> model) {
+		return model instanceof Model ? ((Model)model).links().get(focus).stream() : model.stream();
+	}
+
+
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	private final Value focus;
-	private final Set<Statement> model;
+	private final Model model;
 
 
-	private Frame(final Value focus, final Set<Statement> model) {
+	private Frame(final Value focus, final Model model) {
 		this.focus=focus;
 		this.model=model;
 	}
@@ -193,7 +222,7 @@ public final class Frame {
 	}
 
 	public Set<Statement> model() {
-		return unmodifiableSet(model);
+		return model;
 	}
 
 
@@ -246,10 +275,10 @@ public final class Frame {
 	public static final class Getter {
 
 		private final Set<Value> values;
-		private final Set<Statement> model;
+		private final Model model;
 
 
-		private Getter(final Set<Value> values, final Set<Statement> model) {
+		private Getter(final Set<Value> values, final Model model) {
 			this.values=values;
 			this.model=model;
 		}
@@ -315,7 +344,7 @@ public final class Frame {
 				throw new NullPointerException("null value");
 			}
 
-			return new Frame(frame.focus, Stream.concat(frame.model.stream(), traverse(path,
+			return new Frame(frame.focus, frame.model.with(traverse(path,
 
 					direct -> {
 
@@ -337,7 +366,7 @@ public final class Frame {
 
 					}
 
-			)).collect(toCollection(LinkedHashSet::new)));
+			).collect(toList())));
 		}
 
 		public Frame value(final Optional<? extends Value> value) {
@@ -374,7 +403,7 @@ public final class Frame {
 				throw new NullPointerException("null values");
 			}
 
-			return new Frame(frame.focus, Stream.concat(frame.model.stream(), traverse(path,
+			return new Frame(frame.focus, frame.model.with(traverse(path,
 
 					direct -> values.map(value -> {
 
@@ -404,7 +433,7 @@ public final class Frame {
 
 					})
 
-			)).collect(toCollection(LinkedHashSet::new)));
+			).collect(toList())));
 		}
 
 
@@ -414,7 +443,7 @@ public final class Frame {
 				throw new NullPointerException("null frame");
 			}
 
-			return new Frame(this.frame.focus, Stream.concat(this.frame.model.stream(), traverse(path,
+			return new Frame(this.frame.focus, this.frame.model.with(traverse(path,
 
 					direct -> {
 
@@ -442,7 +471,7 @@ public final class Frame {
 
 					}
 
-			)).collect(toCollection(LinkedHashSet::new)));
+			).collect(toList())));
 		}
 
 		public Frame frame(final Optional<Frame> frame) {
@@ -479,7 +508,7 @@ public final class Frame {
 				throw new NullPointerException("null frames");
 			}
 
-			return new Frame(frame.focus, Stream.concat(frame.model.stream(), traverse(path,
+			return new Frame(frame.focus, frame.model.with(traverse(path,
 
 					direct -> frames.flatMap(frame -> {
 
@@ -515,7 +544,149 @@ public final class Frame {
 
 					})
 
-			)).collect(toCollection(LinkedHashSet::new)));
+			).collect(toList())));
+		}
+
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Persistent statement set.
+	 *
+	 * <p>Frame models are immutable chains of statement segments, each referencing only the segments of the model it
+	 * was derived from: extending a model never alters or pins the statements of its ancestors, so that any number of
+	 * frames may be derived from a shared long-lived base without copying its statements. Trailing segments no larger
+	 * than the new one are merged into it, keeping chains logarithmic in the model size and extensions amortized
+	 * logarithmic.</p>
+	 */
+	private static final class Model extends AbstractSet<Statement> {
+
+		private static final Model Empty=new Model(null, new Statement[0], emptySet());
+
+
+		private static Model empty() {
+			return Empty;
+		}
+
+
+		private final Model parent; // null for the empty root model
+
+		private final Statement[] segment; // statements added on top of parent, in insertion order
+		private final Set<Statement> index; // statements in segment
+
+		private final int size;
+
+		private volatile Links links; // lazily built subject/object index
+
+
+		private Model(final Model parent, final Statement[] segment, final Set<Statement> index) {
+			this.parent=parent;
+			this.segment=segment;
+			this.index=index;
+			this.size=(parent == null ? 0 : parent.size)+segment.length;
+		}
+
+
+		private Model with(final Collection<Statement> statements) {
+
+			final List<Statement> added=new ArrayList<>();
+			final Set<Statement> index=new HashSet<>();
+
+			for (final Statement statement : statements) {
+				if ( !contains(statement) && index.add(statement) ) { added.add(statement); }
+			}
+
+			if ( added.isEmpty() ) { return this; } else {
+
+				Model parent=this;
+
+				while ( parent.parent != null && parent.segment.length <= added.size() ) { // merge smaller segments
+
+					added.addAll(0, Arrays.asList(parent.segment));
+					index.addAll(parent.index);
+
+					parent=parent.parent;
+				}
+
+				return new Model(parent, added.toArray(new Statement[0]), index);
+
+			}
+		}
+
+
+		private Links links() {
+
+			Links links=this.links;
+
+			if ( links == null ) {
+				this.links=links=new Links(this);
+			}
+
+			return links;
+		}
+
+
+		@Override public int size() {
+			return size;
+		}
+
+		@Override public boolean contains(final Object object) {
+
+			for (Model model=this; model != null; model=model.parent) {
+				if ( model.index.contains(object) ) { return true; }
+			}
+
+			return false;
+		}
+
+		@Override public Iterator<Statement> iterator() {
+
+			final Deque<Statement[]> segments=new ArrayDeque<>(); // root segments first
+
+			for (Model model=this; model != null; model=model.parent) { segments.push(model.segment); }
+
+			return segments.stream().flatMap(Arrays::stream).iterator();
+		}
+
+		@Override public Spliterator<Statement> spliterator() {
+			return Spliterators.spliterator(iterator(), size,
+					Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL
+			);
+		}
+
+	}
+
+
+	/**
+	 * Statement index.
+	 *
+	 * <p>Maps values to the statements they appear in as subject or object, preserving model order.</p>
+	 */
+	private static final class Links {
+
+		private final Map<Value, List<Statement>> links=new HashMap<>();
+
+
+		private Links(final Iterable<Statement> model) {
+			for (final Statement statement : model) {
+
+				final Resource subject=statement.getSubject();
+				final Value object=statement.getObject();
+
+				links.computeIfAbsent(subject, value -> new ArrayList<>()).add(statement);
+
+				if ( !object.equals(subject) ) {
+					links.computeIfAbsent(object, value -> new ArrayList<>()).add(statement);
+				}
+
+			}
+		}
+
+
+		private List<Statement> get(final Value value) {
+			return links.getOrDefault(value, emptyList());
 		}
 
 	}
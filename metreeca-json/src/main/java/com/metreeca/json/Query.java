@@ -166,6 +166,15 @@ public abstract class Query {
 
 		public abstract V probe(final Stats stats);
 
+		/**
+		 * Probes a multi-facet query.
+		 *
+		 * @param facets the multi-facet query to be probed
+		 *
+		 * @return the result generated by probing {@code facets}; by default delegated to {@link #probe(Query)}
+		 */
+		public V probe(final Facets facets) { return probe((Query)facets); }
+
 
 		//// Fallback //////////////////////////////////////////////////////////////////////////////////////////////////
 
@@ -319,7 +319,33 @@ public abstract class Shape {
 			throw new NullPointerException("null base");
 		}
 
-		return map(new ShapeResolver(base));
+		return map(new ShapeResolver(base, null));
+	}
+
+	/**
+	 * Resolve focus values and uniquely label fields in this shape.
+	 *
+	 * <p>Equivalent to {@code resolve(base).label(labels)}, but performed in a single traversal.</p>
+	 *
+	 * @param base   the base IRI focus values should be resolved against
+	 * @param labels a supplier of unique labels
+	 *
+	 * @return a copy of this shape where {@linkplain Focus focus} values are replaced by absolute IRIs by resolving
+	 * them against {@code base} and fields are assigned a unique label supplied by {@code labels}
+	 *
+	 * @throws NullPointerException if either {@code base} or {@code labels} is null
+	 */
+	public Shape resolve(final IRI base, final Supplier<String> labels) {
+
+		if ( base == null ) {
+			throw new NullPointerException("null base");
+		}
+
+		if ( labels == null ) {
+			throw new NullPointerException("null labels");
+		}
+
+		return map(new ShapeResolver(base, labels));
 	}
 
 
@@ -22,6 +22,7 @@ import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Value;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import static com.metreeca.json.shapes.All.all;
 import static com.metreeca.json.shapes.And.and;
@@ -41,10 +42,12 @@ import static java.util.stream.Collectors.toCollection;
 final class ShapeResolver extends Shape.Probe<Shape> {
 
 	private final IRI base;
+	private final Supplier<String> labels; // null to retain field labels
 
 
-	ShapeResolver(final IRI base) {
+	ShapeResolver(final IRI base, final Supplier<String> labels) {
 		this.base=base;
+		this.labels=labels;
 	}
 
 
@@ -97,7 +100,7 @@ final class ShapeResolver extends Shape.Probe<Shape> {
 	}
 
 	@Override public Shape probe(final Field field) {
-		return field(field.label(), field.iri(), field.shape().map(this));
+		return field(labels == null ? field.label() : labels.get(), field.iri(), field.shape().map(this));
 	}
 
 
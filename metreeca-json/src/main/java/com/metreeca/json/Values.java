@@ -40,7 +40,6 @@ import java.util.regex.Pattern;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Locale.ROOT;
-import static java.util.UUID.nameUUIDFromBytes;
 import static java.util.UUID.randomUUID;
 import static java.util.stream.Collectors.joining;
 
@@ -81,6 +80,16 @@ public final class Values {
 			new DecimalFormat("0.0#########E0", DecimalFormatSymbols.getInstance(ROOT)) // ;( not thread-safe
 	);
 
+	private static final ThreadLocal<MessageDigest> MD5=ThreadLocal.withInitial(() -> { // ;( not thread-safe
+		try {
+
+			return MessageDigest.getInstance("MD5");
+
+		} catch ( final NoSuchAlgorithmException unexpected ) {
+			throw new InternalError(unexpected);
+		}
+	});
+
 	private static final char[] HexDigits="0123456789abcdef".toCharArray();
 
 
@@ -609,7 +618,23 @@ public final class Values {
 	}
 
 	public static String uuid(final byte[] data) {
-		return data == null ? null : nameUUIDFromBytes(data).toString();
+		if ( data == null ) { return null; } else { // same as UUID.nameUUIDFromBytes() with a reusable digest
+
+			final byte[] md5=MD5.get().digest(data);
+
+			md5[6]&=0x0f; // clear version
+			md5[6]|=0x30; // set to version 3
+			md5[8]&=0x3f; // clear variant
+			md5[8]|=0x80; // set to IETF variant
+
+			long msb=0;
+			long lsb=0;
+
+			for (int i=0; i < 8; ++i) { msb=(msb<<8)|(md5[i]&0xff); }
+			for (int i=8; i < 16; ++i) { lsb=(lsb<<8)|(md5[i]&0xff); }
+
+			return new UUID(msb, lsb).toString();
+		}
 	}
 
 
@@ -627,16 +652,138 @@ public final class Values {
 	}
 
 	public static String md5(final byte[] data) {
-		try {
+		return data == null ? null : hex(MD5.get().digest(data));
+	}
 
-			return data == null ? null : hex(MessageDigest.getInstance("MD5").digest(data));
 
-		} catch ( final NoSuchAlgorithmException unexpected ) {
-			throw new InternalError(unexpected);
+	/**
+	 * Computes a fast non-cryptographic hash.
+	 *
+	 * @param text the text to be hashed
+	 *
+	 * @return the hex-encoded 128-bit MurmurHash3 (x64 variant, zero seed) hash of the UTF-8 encoding of {@code text}
+	 * or {@code null}, if {@code text} is null
+	 */
+	public static String hash(final String text) {
+		return text == null ? null : hash(text.getBytes(UTF_8));
+	}
+
+	/**
+	 * Computes a fast non-cryptographic hash.
+	 *
+	 * <p>Intended for minting stable identifiers, where collision resistance against deliberate attacks is not
+	 * required.</p>
+	 *
+	 * @param data the data to be hashed
+	 *
+	 * @return the hex-encoded 128-bit MurmurHash3 (x64 variant, zero seed) hash of {@code data} or {@code null}, if
+	 * {@code data} is null
+	 */
+	public static String hash(final byte[] data) {
+		if ( data == null ) { return null; } else {
+
+			final long c1=0x87c37b91114253d5L;
+			final long c2=0x4cf5ad432745937fL;
+
+			final int length=data.length;
+			final int blocks=length/16;
+
+			long h1=0;
+			long h2=0;
+
+			for (int i=0; i < blocks; ++i) {
+
+				long k1=little(data, i*16);
+				long k2=little(data, i*16+8);
+
+				k1*=c1;
+				k1=Long.rotateLeft(k1, 31);
+				k1*=c2;
+				h1^=k1;
+
+				h1=Long.rotateLeft(h1, 27);
+				h1+=h2;
+				h1=h1*5+0x52dce729;
+
+				k2*=c2;
+				k2=Long.rotateLeft(k2, 33);
+				k2*=c1;
+				h2^=k2;
+
+				h2=Long.rotateLeft(h2, 31);
+				h2+=h1;
+				h2=h2*5+0x38495ab5;
+			}
+
+			long k1=0;
+			long k2=0;
+
+			final int tail=blocks*16;
+
+			for (int i=(length&15)-1; i >= 8; --i) { k2^=(long)(data[tail+i]&0xff)<<((i-8)*8); }
+			for (int i=Math.min(length&15, 8)-1; i >= 0; --i) { k1^=(long)(data[tail+i]&0xff)<<(i*8); }
+
+			if ( (length&15) > 8 ) {
+				k2*=c2;
+				k2=Long.rotateLeft(k2, 33);
+				k2*=c1;
+				h2^=k2;
+			}
+
+			if ( (length&15) > 0 ) {
+				k1*=c1;
+				k1=Long.rotateLeft(k1, 31);
+				k1*=c2;
+				h1^=k1;
+			}
+
+			h1^=length;
+			h2^=length;
+
+			h1+=h2;
+			h2+=h1;
+
+			h1=mix(h1);
+			h2=mix(h2);
+
+			h1+=h2;
+			h2+=h1;
+
+			final byte[] bytes=new byte[16];
+
+			for (int i=0; i < 8; ++i) {
+				bytes[i]=(byte)(h1 >>> (i*8));
+				bytes[i+8]=(byte)(h2 >>> (i*8));
+			}
+
+			return hex(bytes);
 		}
 	}
 
 
+	private static long little(final byte[] data, final int offset) {
+
+		long value=0;
+
+		for (int i=7; i >= 0; --i) { value=(value<<8)|(data[offset+i]&0xff); }
+
+		return value;
+	}
+
+	private static long mix(final long value) {
+
+		long k=value;
+
+		k^=k >>> 33;
+		k*=0xff51afd7ed558ccdL;
+		k^=k >>> 33;
+		k*=0xc4ceb9fe1a85ec53L;
+		k^=k >>> 33;
+
+		return k;
+	}
+
+
 	public static BigInteger integer(final long value) {
 		return BigInteger.valueOf(value);
 	}
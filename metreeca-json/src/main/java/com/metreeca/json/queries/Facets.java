@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.json.queries;
+
+import com.metreeca.json.*;
+
+import java.util.*;
+
+import static com.metreeca.json.Values.indent;
+
+import static java.lang.String.format;
+import static java.util.regex.Matcher.quoteReplacement;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.stream.Collectors.joining;
+
+
+/**
+ * Multi-facet query.
+ *
+ * <p>Combines a set of labelled {@link Terms} and {@link Stats} facet queries to be executed together; at most one
+ * stats query is accepted, as stats results describe datatype resources that would be shared among facets.</p>
+ */
+public final class Facets extends Query {
+
+	public static Facets facets(final Shape shape, final Map<String, Query> facets) {
+		return new Facets(shape, facets);
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	private final Map<String, Query> facets;
+
+
+	public Facets(final Shape shape, final Map<String, Query> facets) {
+
+		super(shape, emptyList(), emptyList(), 0, 0);
+
+		if ( facets == null ) {
+			throw new NullPointerException("null facets");
+		}
+
+		if ( facets.keySet().stream().anyMatch(Objects::isNull) ) {
+			throw new NullPointerException("null facet label");
+		}
+
+		if ( facets.values().stream().anyMatch(Objects::isNull) ) {
+			throw new NullPointerException("null facet query");
+		}
+
+		if ( facets.values().stream().anyMatch(query -> !(query instanceof Terms || query instanceof Stats)) ) {
+			throw new IllegalArgumentException("facet query is neither a terms nor a stats query");
+		}
+
+		if ( facets.values().stream().filter(Stats.class::isInstance).count() > 1 ) {
+			throw new IllegalArgumentException("multiple stats facet queries");
+		}
+
+		this.facets=new LinkedHashMap<>(facets);
+	}
+
+
+	/**
+	 * Retrieves the facet queries.
+	 *
+	 * @return a map from facet labels to facet queries
+	 */
+	public Map<String, Query> facets() {
+		return unmodifiableMap(facets);
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	@Override public <T> T map(final Probe<T> probe) {
+
+		if ( probe == null ) {
+			throw new NullPointerException("null probe");
+		}
+
+		return probe.probe(this);
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	@Override public boolean equals(final Object object) {
+		return super.equals(object)
+				&& facets.equals(((Facets)object).facets);
+	}
+
+	@Override public int hashCode() {
+		return super.hashCode()
+				^facets.hashCode();
+	}
+
+	@Override public String toString() {
+		return super.toString().replaceFirst("\n}$", quoteReplacement(format("\n\tfacets: {\n%s\n\t}\n}", indent(indent(
+				facets.entrySet().stream()
+						.map(entry -> format("%s: %s", entry.getKey(), entry.getValue()))
+						.collect(joining("\n"))
+		)))));
+	}
+
+}
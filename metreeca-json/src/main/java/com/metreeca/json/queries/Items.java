@@ -18,11 +18,19 @@ package com.metreeca.json.queries;
 
 import com.metreeca.json.*;
 
-import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.*;
 
-import java.util.List;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
+import javax.json.*;
+
+import static com.metreeca.json.Values.*;
+
+import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 
 
 public final class Items extends Query {
@@ -39,12 +47,163 @@ public final class Items extends Query {
 		return new Items(shape, emptyList(), orders, offset, limit);
 	}
 
+	public static Items items(final Shape shape, final List<Order> orders, final List<Value> after, final int limit) {
+		return new Items(shape, emptyList(), orders, after, 0, limit);
+	}
+
+
+	//// Cursors ///////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Encodes a continuation cursor.
+	 *
+	 * @param values the sort key values of the last item of a page, followed by the item itself; may include {@code
+	 *               null} values for unbound sort keys
+	 *
+	 * @return an opaque URL-safe token encoding {@code values}
+	 *
+	 * @throws NullPointerException if {@code values} is null
+	 */
+	public static String cursor(final List<Value> values) {
+
+		if ( values == null ) {
+			throw new NullPointerException("null values");
+		}
+
+		final JsonArrayBuilder array=Json.createArrayBuilder();
+
+		for (final Value value : values) {
+			if ( value == null ) {
+
+				array.addNull();
+
+			} else if ( value instanceof BNode ) {
+
+				array.add(Json.createObjectBuilder().add("@id", "_:"+((BNode)value).getID()));
+
+			} else if ( value instanceof IRI ) {
+
+				array.add(Json.createObjectBuilder().add("@id", value.stringValue()));
+
+			} else {
+
+				final Literal literal=(Literal)value;
+
+				array.add(literal.getLanguage()
+						.map(lang -> Json.createObjectBuilder().add("@language", lang))
+						.orElseGet(() -> Json.createObjectBuilder().add("@type", literal.getDatatype().stringValue()))
+						.add("@value", literal.getLabel())
+				);
+
+			}
+		}
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(
+				array.build().toString().getBytes(StandardCharsets.UTF_8)
+		);
+	}
+
+	/**
+	 * Decodes a continuation cursor.
+	 *
+	 * @param cursor the opaque token to be decoded, as generated by {@link #cursor(List)}
+	 *
+	 * @return the list of values encoded by {@code cursor}
+	 *
+	 * @throws NullPointerException     if {@code cursor} is null
+	 * @throws IllegalArgumentException if {@code cursor} is malformed
+	 */
+	public static List<Value> cursor(final String cursor) {
+
+		if ( cursor == null ) {
+			throw new NullPointerException("null cursor");
+		}
+
+		try {
+
+			final JsonArray array=Json.createReader(new StringReader(new String(
+					Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8
+			))).readArray();
+
+			final List<Value> values=new ArrayList<>(array.size());
+
+			for (final JsonValue value : array) {
+				if ( value.equals(JsonValue.NULL) ) {
+
+					values.add(null);
+
+				} else {
+
+					final JsonObject object=value.asJsonObject();
+
+					final String id=object.getString("@id", null);
+
+					if ( id != null ) {
+
+						values.add(id.startsWith("_:") ? bnode(id.substring(2)) : iri(id));
+
+					} else {
+
+						final String label=object.getString("@value");
+						final String lang=object.getString("@language", null);
+
+						values.add(lang != null
+								? literal(label, lang)
+								: literal(label, iri(object.getString("@type")))
+						);
+
+					}
+
+				}
+			}
+
+			return values;
+
+		} catch ( final JsonException|ClassCastException|NullPointerException|IllegalArgumentException e ) {
+
+			throw new IllegalArgumentException(format("malformed cursor <%s>", cursor), e);
+
+		}
+	}
+
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+	private final List<Value> after;
+
+
 	public Items(final Shape shape, final List<IRI> path, final List<Order> orders, final int offset,
 			final int limit) {
+		this(shape, path, orders, emptyList(), offset, limit);
+	}
+
+	public Items(final Shape shape, final List<IRI> path, final List<Order> orders, final List<Value> after,
+			final int offset, final int limit) {
+
 		super(shape, path, orders, offset, limit);
+
+		if ( after == null ) {
+			throw new NullPointerException("null after");
+		}
+
+		if ( !after.isEmpty() && after.size() != orders.size()+1 ) {
+			throw new IllegalArgumentException(format(
+					"cursor size <%d> not matching order criteria <%d>", after.size(), orders.size()
+			));
+		}
+
+		this.after=new ArrayList<>(after);
+	}
+
+
+	/**
+	 * Retrieves the continuation cursor.
+	 *
+	 * @return the sort key values of the last item of the previous page, one for each {@linkplain #orders() order}
+	 * criterion, followed by the item itself; empty if no continuation cursor was specified
+	 */
+	public List<Value> after() {
+		return unmodifiableList(after);
 	}
 
 
@@ -59,4 +218,23 @@ public final class Items extends Query {
 		return probe.probe(this);
 	}
 
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	@Override public boolean equals(final Object object) {
+		return super.equals(object)
+				&& after.equals(((Items)object).after);
+	}
+
+	@Override public int hashCode() {
+		return super.hashCode()
+				^after.hashCode();
+	}
+
+	@Override public String toString() {
+		return after.isEmpty() ? super.toString() : super.toString().replaceFirst(
+				"\n}$", format("\n\tafter: %s\n}", after)
+		);
+	}
+
 }
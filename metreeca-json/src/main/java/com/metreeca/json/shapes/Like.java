@@ -81,6 +81,8 @@ public final class Like extends Shape {
 
 	private final boolean stemming;
 
+	private volatile Pattern pattern; // lazily compiled expression
+
 
 	private Like(final String keywords, final boolean stemming) {
 		this.keywords=keywords;
@@ -104,6 +106,22 @@ public final class Like extends Shape {
 		return keywords(keywords, stemming);
 	}
 
+	/**
+	 * Converts this constraint to a compiled regular expression.
+	 *
+	 * <p>The expression is compiled on first access and cached for reuse by later calls.</p>
+	 *
+	 * @return a compiled regular expression matching strings matched by this like constraint
+	 */
+	public Pattern toPattern() {
+
+		if ( pattern == null ) {
+			pattern=Pattern.compile(toExpression());
+		}
+
+		return pattern;
+	}
+
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
@@ -59,6 +59,8 @@ public final class Pattern extends Shape {
 	private final String expression;
 	private final String flags;
 
+	private volatile java.util.regex.Pattern pattern; // lazily compiled expression
+
 
 	private Pattern(final String expression, final String flags) {
 		this.expression=expression;
@@ -75,6 +77,28 @@ public final class Pattern extends Shape {
 	}
 
 
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Converts this constraint to a compiled regular expression.
+	 *
+	 * <p>The expression is compiled on first access and cached for reuse by later calls.</p>
+	 *
+	 * @return a compiled regular expression embedding {@linkplain #flags() flags}, if any
+	 *
+	 * @throws java.util.regex.PatternSyntaxException if {@linkplain #expression() expression} or {@linkplain
+	 *                                                #flags() flags} are malformed
+	 */
+	public java.util.regex.Pattern toPattern() {
+
+		if ( pattern == null ) {
+			pattern=java.util.regex.Pattern.compile(flags.isEmpty() ? expression : "(?"+flags+":"+expression+")");
+		}
+
+		return pattern;
+	}
+
+
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	@Override public <T> T map(final Probe<T> probe) {
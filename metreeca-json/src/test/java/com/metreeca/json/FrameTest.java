@@ -16,6 +16,7 @@
 
 package com.metreeca.json;
 
+import org.assertj.core.api.Assertions;
 import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.junit.jupiter.api.Nested;
@@ -93,6 +94,58 @@ final class FrameTest {
 		}
 
 
+		@Test void testPreserveDerivedFrames() {
+
+			final Frame base=frame(x).set(RDF.VALUE).value(y);
+
+			final Frame one=base.set(RDF.FIRST).value(w);
+			final Frame two=base.set(RDF.REST).value(z).set(RDF.VALUE).value(y);
+
+			assertThat(base.model()).isIsomorphicTo(
+					statement(x, RDF.VALUE, y)
+			);
+
+			assertThat(one.model()).isIsomorphicTo(
+					statement(x, RDF.VALUE, y),
+					statement(x, RDF.FIRST, w)
+			);
+
+			assertThat(two.model()).isIsomorphicTo(
+					statement(x, RDF.VALUE, y),
+					statement(x, RDF.REST, z)
+			);
+		}
+
+		@Test void testPreserveLongDerivationChains() {
+
+			final List<Statement> statements=new ArrayList<>();
+
+			Frame frame=frame(x);
+			Frame base=frame;
+
+			for (int i=0; i < 100; ++i) {
+
+				final IRI field=iri(x.stringValue(), "/"+i);
+
+				frame=frame.set(field).value(literal(i));
+				statements.add(statement(x, field, literal(i)));
+
+				if ( i == 50 ) { base=frame; }
+			}
+
+			final Frame branch=base.set(RDF.VALUE).value(y);
+
+			Assertions.assertThat(frame.model()).containsExactlyElementsOf(statements);
+
+			Assertions.assertThat(base.model()).containsExactlyElementsOf(statements.subList(0, 51));
+
+			Assertions.assertThat(branch.model())
+					.hasSize(52)
+					.containsAll(statements.subList(0, 51))
+					.contains(statement(x, RDF.VALUE, y));
+		}
+
+
 		@Test void testReportLiteralSubjectsForDirectFields() {
 			assertThatIllegalArgumentException()
 					.isThrownBy(() -> {
@@ -174,6 +227,26 @@ final class FrameTest {
 
 			).isEqualTo(y);
 		}
+
+		@Test void testBoundClosureDepth() {
+			assertThat(frame(x, asList(
+
+					statement(x, RDF.FIRST, y),
+					statement(y, RDF.REST, z),
+					statement(z, RDF.VALUE, w)
+
+			), 2).model()).isIsomorphicTo(
+
+					statement(x, RDF.FIRST, y),
+					statement(y, RDF.REST, z)
+
+			);
+		}
+
+		@Test void testReportNegativeClosureDepth() {
+			assertThatIllegalArgumentException()
+					.isThrownBy(() -> frame(x, singletonList(statement(x, RDF.VALUE, y)), -1));
+		}
 	}
 
 	@Nested final class Exporting {
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static com.metreeca.json.Values.hash;
+import static com.metreeca.json.Values.uuid;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+
+final class ValuesHashingTest {
+
+	@Test void testComputeNameUUIDs() {
+		assertThat(uuid("text")).isEqualTo(UUID.nameUUIDFromBytes("text".getBytes(UTF_8)).toString());
+	}
+
+	@Test void testComputeMurmurHashes() {
+
+		assertThat(hash("")).isEqualTo("00000000000000000000000000000000");
+		assertThat(hash("hell")).isEqualTo("67f8103e694299624753ebba820bdb92");
+
+		assertThat(hash("The quick brown fox jumps over the lazy dog"))
+				.isEqualTo("6c1b07bc7bbc4be347939ac4a93c437a");
+
+	}
+
+}
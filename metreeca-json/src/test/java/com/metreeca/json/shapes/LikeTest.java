@@ -47,4 +47,13 @@ final class LikeTest {
 				.as("missorted stems").doesNotMatch(keywords("th tw"));
 	}
 
+	@Test void testCachePattern() {
+
+		final Like like=(Like)Like.like("tw th", true);
+
+		assertThat(like.toPattern()).isSameAs(like.toPattern());
+
+		assertThat(like.toPattern().matcher(" one two three ").matches()).isTrue();
+	}
+
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.json.shapes;
+
+import org.junit.jupiter.api.Test;
+
+import static com.metreeca.json.shapes.Pattern.pattern;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class PatternTest {
+
+	@Test void testCachePattern() {
+
+		final Pattern pattern=(Pattern)pattern("ab+");
+
+		assertThat(pattern.toPattern()).isSameAs(pattern.toPattern());
+	}
+
+	@Test void testHonourFlags() {
+
+		assertThat(((Pattern)pattern("ab+")).toPattern().matcher("ABB").matches())
+				.as("case sensitive by default")
+				.isFalse();
+
+		assertThat(((Pattern)pattern("ab+", "i")).toPattern().matcher("ABB").matches())
+				.as("case insensitive")
+				.isTrue();
+	}
+
+}
@@ -246,7 +246,7 @@ public final class RDFFormat extends Format<Collection<Statement>> {
 	 */
 	@Override public <M extends Message<M>> M encode(final M message, final Collection<Statement> value) {
 
-		final List<String> types=mimes(message.request().header("Accept").orElse(""));
+		final List<String> types=message.request().mimes();
 
 		final RDFWriterRegistry registry=RDFWriterRegistry.getInstance();
 		final RDFWriterFactory factory=service(registry, TURTLE, types);
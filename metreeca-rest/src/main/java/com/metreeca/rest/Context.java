@@ -103,6 +103,15 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 	}
 
 
+	/**
+	 * Retrieves the active context.
+	 *
+	 * @return the context active on the current thread or {@code null} if no context is active
+	 */
+	static Context current() {
+		return context.get();
+	}
+
 	private static Context context() {
 
 		final Context context=Context.context.get();
@@ -488,7 +497,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-	private <V> V context(final Supplier<V> task) {
+	<V> V context(final Supplier<V> task) {
 
 		final Context current=context.get();
 
@@ -20,6 +20,7 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -32,6 +33,7 @@ import static com.metreeca.rest.Xtream.entry;
 import static java.lang.Float.parseFloat;
 import static java.lang.Math.max;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Locale.ROOT;
 import static java.util.stream.Collectors.toList;
@@ -59,6 +61,12 @@ public abstract class Format<V> {
 			Pattern.compile("([a-zA-Z]{1,8}(?:-[a-zA-Z0-9]{1,8})*|\\*)"+QualityPattern);
 
 
+	private static final int CacheSize=256; // max number of cached header values
+
+	private static final Map<String, List<String>> MIMECache=new ConcurrentHashMap<>();
+	private static final Map<String, List<String>> LangCache=new ConcurrentHashMap<>();
+
+
 	/**
 	 * MIME types by file extension (including dot).
 	 *
@@ -116,7 +124,7 @@ public abstract class Format<V> {
 	 *
 	 * @param types the MIME type list to be parsed
 	 *
-	 * @return a list of MIME types parsed from {@code types}, sorted by descending
+	 * @return an immutable list of MIME types parsed from {@code types}, sorted by descending
 	 * <a href="https://developer.mozilla.org/en-US/docs/Glossary/quality_values">quality value</a>
 	 *
 	 * @throws NullPointerException if {@code types} is null
@@ -127,7 +135,80 @@ public abstract class Format<V> {
 			throw new NullPointerException("null types");
 		}
 
-		return values(types, MIMEPattern);
+		return values(types, MIMEPattern, MIMECache);
+	}
+
+	/**
+	 * Negotiates a MIME type.
+	 *
+	 * @param types     the MIME type list to be parsed, usually the value of an {@code Accept} header
+	 * @param supported the supported MIME types, in order of preference
+	 *
+	 * @return an optional entry from {@code supported} {@linkplain #negotiate(List, Collection) negotiated} against
+	 * the MIME types parsed from {@code types}
+	 *
+	 * @throws NullPointerException if either {@code types} or {@code supported} is null or if {@code supported}
+	 *                              contains null values
+	 */
+	public static Optional<String> negotiate(final CharSequence types, final Collection<String> supported) {
+
+		if ( types == null ) {
+			throw new NullPointerException("null types");
+		}
+
+		return negotiate(mimes(types), supported);
+	}
+
+	/**
+	 * Negotiates a MIME type.
+	 *
+	 * <p>Explicitly listed MIME types take precedence over wildcard media ranges, irrespective of quality values,
+	 * so that, for instance, {@code application/ld+json;q=0.5, *}{@code /*} selects {@code application/ld+json}
+	 * rather than the first supported type.</p>
+	 *
+	 * @param types     the accepted MIME types, sorted by descending quality value, as returned by {@link
+	 *                  #mimes(CharSequence)} or {@link Request#mimes()}
+	 * @param supported the supported MIME types, in order of preference
+	 *
+	 * @return an optional entry from {@code supported} matching the explicitly accepted MIME type with the highest
+	 * quality value in {@code types} or, failing that, the first one matching the wildcard media range with the
+	 * highest quality value; an empty optional, if no supported type is accepted
+	 *
+	 * @throws NullPointerException if either {@code types} or {@code supported} is null or contains null values
+	 */
+	public static Optional<String> negotiate(final List<String> types, final Collection<String> supported) {
+
+		if ( types == null || types.stream().anyMatch(Objects::isNull) ) {
+			throw new NullPointerException("null types");
+		}
+
+		if ( supported == null || supported.stream().anyMatch(Objects::isNull) ) {
+			throw new NullPointerException("null supported types");
+		}
+
+		for (final String type : types) { // explicit types first
+			if ( !type.endsWith("/*") ) {
+				for (final String candidate : supported) {
+					if ( candidate.equalsIgnoreCase(type) ) { return Optional.of(candidate); }
+				}
+			}
+		}
+
+		for (final String type : types) { // then wildcard media ranges
+			if ( type.endsWith("/*") ) {
+
+				final String prefix=type.equals("*/*") ? "" : type.substring(0, type.length()-1);
+
+				for (final String candidate : supported) {
+					if ( candidate.regionMatches(true, 0, prefix, 0, prefix.length()) ) {
+						return Optional.of(candidate);
+					}
+				}
+
+			}
+		}
+
+		return Optional.empty();
 	}
 
 	/**
@@ -135,7 +216,7 @@ public abstract class Format<V> {
 	 *
 	 * @param langs the language tag list to be parsed
 	 *
-	 * @return a list of language tags parsed from {@code langs}, sorted by descending
+	 * @return an immutable list of language tags parsed from {@code langs}, sorted by descending
 	 * <a href="https://developer.mozilla.org/en-US/docs/Glossary/quality_values">quality value</a>
 	 *
 	 * @throws NullPointerException if {@code langs} is null
@@ -146,15 +227,31 @@ public abstract class Format<V> {
 			throw new NullPointerException("null langs");
 		}
 
-		return values(langs, LangPattern);
+		return values(langs, LangPattern, LangCache);
 	}
 
 
-	private static List<String> values(final CharSequence types, final Pattern pattern) {
+	private static List<String> values(
+			final CharSequence types, final Pattern pattern, final Map<String, List<String>> cache
+	) {
+
+		final String key=types.toString();
+		final List<String> cached=cache.get(key);
+
+		if ( cached != null ) { return cached; } else {
+
+			final List<String> values=values(key, pattern);
+
+			if ( cache.size() >= CacheSize ) { cache.clear(); } // header values from the wild are unbounded
+
+			cache.put(key, values);
+
+			return values;
 
-		if ( types == null ) {
-			throw new NullPointerException("null mime types");
 		}
+	}
+
+	private static List<String> values(final CharSequence types, final Pattern pattern) {
 
 		final List<Map.Entry<String, Float>> entries=new ArrayList<>();
 
@@ -174,7 +271,7 @@ public abstract class Format<V> {
 
 		entries.sort((x, y) -> -Float.compare(x.getValue(), y.getValue()));
 
-		return entries.stream().map(Map.Entry::getKey).collect(toList());
+		return unmodifiableList(entries.stream().map(Map.Entry::getKey).collect(toList()));
 	}
 
 
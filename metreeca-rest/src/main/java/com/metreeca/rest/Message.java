@@ -23,16 +23,16 @@ import java.util.*;
 import java.util.function.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 import static com.metreeca.rest.Either.Right;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
 
 
 /**
@@ -53,7 +53,8 @@ public abstract class Message<T extends Message<T>> {
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	private final Map<Supplier<?>, Object> attributes=new LinkedHashMap<>();
-	private final Map<String, List<String>> headers=new LinkedHashMap<>();
+	private final Map<String, List<String>> headers=new LinkedHashMap<>(); // normalized name > read-only values
+	private final Map<String, List<String>> view=unmodifiableMap(headers);
 	private final Map<Format<?>, Either<MessageException, ?>> bodies=new HashMap<>();
 
 
@@ -278,7 +279,7 @@ public abstract class Message<T extends Message<T>> {
 	 * @return an immutable and possibly empty map from header names to collections of headers values
 	 */
 	public Map<String, List<String>> headers() {
-		return unmodifiableMap(headers);
+		return view;
 	}
 
 	/**
@@ -334,7 +335,9 @@ public abstract class Message<T extends Message<T>> {
 			throw new NullPointerException("null name");
 		}
 
-		return headers(name).stream().findFirst();
+		final List<String> values=headers.get(normalize(name));
+
+		return values == null ? Optional.empty() : Optional.of(values.get(0));
 	}
 
 	/**
@@ -380,14 +383,7 @@ public abstract class Message<T extends Message<T>> {
 			throw new NullPointerException("null name");
 		}
 
-		final String _name=normalize(name);
-
-		return unmodifiableList(headers.entrySet().stream()
-				.filter(entry -> entry.getKey().equalsIgnoreCase(_name))
-				.map(Map.Entry::getValue)
-				.findFirst()
-				.orElseGet(Collections::emptyList)
-		);
+		return headers.getOrDefault(normalize(name), emptyList());
 	}
 
 	/**
@@ -446,12 +442,13 @@ public abstract class Message<T extends Message<T>> {
 
 		if ( name.startsWith("~") ) {
 
-			headers.computeIfAbsent(_name, key -> _values.isEmpty() ? null : _values);
+			if ( !_values.isEmpty() ) { headers.putIfAbsent(_name, _values); }
 
-		} else if ( name.startsWith("+") || _name.equals("Set-Cookie") ) {
+		} else if ( name.startsWith("+") || _name.equals("set-cookie") ) {
 
-			headers.compute(_name, (key, value) -> value == null ?
-					_values : Stream.concat(value.stream(), _values.stream()).collect(toList())
+			headers.compute(_name, (key, value) -> value == null
+					? _values.isEmpty() ? null : _values
+					: append(value, _values)
 			);
 
 		} else if ( _values.isEmpty() ) {
@@ -460,7 +457,7 @@ public abstract class Message<T extends Message<T>> {
 
 		} else {
 
-			headers.put(_name, unmodifiableList(_values));
+			headers.put(_name, _values);
 
 		}
 
@@ -568,11 +565,34 @@ public abstract class Message<T extends Message<T>> {
 	}
 
 	private List<String> normalize(final Collection<String> values) {
-		return values
-				.stream()
-				.filter(value -> !value.isEmpty())
-				.distinct()
-				.collect(toList());
+
+		if ( values.size() == 1 ) { // common case
+
+			final String value=values.iterator().next();
+
+			return value.isEmpty() ? emptyList() : singletonList(value);
+
+		} else {
+
+			final List<String> normalized=new ArrayList<>(values.size());
+
+			for (final String value : values) {
+				if ( !value.isEmpty() && !normalized.contains(value) ) { normalized.add(value); }
+			}
+
+			return unmodifiableList(normalized);
+
+		}
+	}
+
+	private List<String> append(final List<String> head, final List<String> tail) {
+
+		final List<String> values=new ArrayList<>(head.size()+tail.size());
+
+		values.addAll(head);
+		values.addAll(tail);
+
+		return unmodifiableList(values);
 	}
 
 
@@ -108,6 +108,9 @@ public final class Request extends Message<Request> {
 
 	private final Map<String, List<String>> parameters=new LinkedHashMap<>();
 
+	private Map.Entry<String, List<String>> mimes; // parsed Accept header, keyed by header value
+	private Map.Entry<String, List<String>> langs; // parsed Accept-Language header, keyed by header value
+
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
@@ -455,17 +458,44 @@ public final class Request extends Message<Request> {
 
 	//// Parameters ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+	/**
+	 * Retrieves request accepted MIME types.
+	 *
+	 * <p>The parsed list is cached on this request until the {@code Accept} header is modified.</p>
+	 *
+	 * @return an immutable list of MIME types included in the {@code Accept} header of this request, sorted by
+	 * descending quality value, or an empty list if no such header is included; may include wildcard types
+	 *
+	 * @see Format#mimes(CharSequence)
+	 */
+	public List<String> mimes() {
+		return (mimes=parsed(mimes, "Accept", Format::mimes)).getValue();
+	}
+
 	/**
 	 * Retrieves request accepted languages.
 	 *
-	 * @return a list of language tags included in the {@code Accept-Language} header of this request or an empty
-	 * list if
-	 * no such header is included; may include a wildcard tag ({@code *})
+	 * <p>The parsed list is cached on this request until the {@code Accept-Language} header is modified.</p>
+	 *
+	 * @return an immutable list of language tags included in the {@code Accept-Language} header of this request,
+	 * sorted by descending quality value, or an empty list if no such header is included; may include a wildcard tag
+	 * ({@code *})
+	 *
+	 * @see Format#langs(CharSequence)
 	 */
 	public List<String> langs() {
-		return header("Accept-Language")
-				.map((Function<String, List<String>>)Format::langs)
-				.orElse(emptyList());
+		return (langs=parsed(langs, "Accept-Language", Format::langs)).getValue();
+	}
+
+
+	private Map.Entry<String, List<String>> parsed(
+			final Map.Entry<String, List<String>> cached, final String header, final Function<String, List<String>> parser
+	) {
+
+		final String value=header(header).orElse("");
+
+		return cached != null && cached.getKey().equals(value) ? cached
+				: new AbstractMap.SimpleImmutableEntry<>(value, value.isEmpty() ? emptyList() : parser.apply(value));
 	}
 
 
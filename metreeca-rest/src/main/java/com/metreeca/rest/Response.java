@@ -31,6 +31,7 @@ public final class Response extends Message<Response> {
 	public static final int Accepted=202; // https://tools.ietf.org/html/rfc7231#section-6.3.3
 	public static final int NonAuthoritativeInformation=203; // https://tools.ietf.org/html/rfc7231#section-6.3.4
 	public static final int NoContent=204; // https://tools.ietf.org/html/rfc7231#section-6.3.5
+	public static final int PartialContent=206; // https://tools.ietf.org/html/rfc7233#section-4.1
 
 	public static final int MultipleChoices=300; // https://tools.ietf.org/html/rfc7231#section-6.4.1
 	public static final int MovedPermanently=301; // https://tools.ietf.org/html/rfc7231#section-6.4.2
@@ -48,6 +49,7 @@ public final class Response extends Message<Response> {
 	public static final int Conflict=409; // https://tools.ietf.org/html/rfc7231#section-6.5.8
 	public static final int PayloadTooLarge=413; // https://tools.ietf.org/html/rfc7231#section-6.5.11
 	public static final int UnsupportedMediaType=415; // https://tools.ietf.org/html/rfc7231#section-6.5.13
+	public static final int RangeNotSatisfiable=416; // https://tools.ietf.org/html/rfc7233#section-4.4
 	public static final int UnprocessableEntity=422; // https://tools.ietf.org/html/rfc4918#section-11.2
 
 	public static final int InternalServerError=500; // https://tools.ietf.org/html/rfc7231#section-6.6.1
@@ -53,6 +53,27 @@ public abstract class Scribe {
 		return list(scribes).toString();
 	}
 
+	/**
+	 * Renders source code in compact form.
+	 *
+	 * <p>Unlike {@link #code(Scribe...)}, doesn't indent blocks or preserve blank lines, collapsing layout whitespace
+	 * to single spaces or line breaks: intended for code fed to machine consumers rather than human readers.</p>
+	 *
+	 * @param scribes the scribes to be rendered
+	 *
+	 * @return the compact rendering of {@code scribes}
+	 *
+	 * @throws NullPointerException if {@code scribes} is null or contains null elements
+	 */
+	public static String compact(final Scribe... scribes) {
+
+		if ( scribes == null || stream(scribes).anyMatch(Objects::isNull) ) {
+			throw new NullPointerException("null scribes");
+		}
+
+		return list(scribes).scribe(new Compactor(new StringBuilder(4096))).toString();
+	}
+
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
@@ -259,6 +280,105 @@ public abstract class Scribe {
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+	private static final class Compactor implements Appendable {
+
+		private final StringBuilder code; // output target
+
+		private char last; // last output
+		private char wait; // pending optional whitespace
+
+
+		private Compactor(final StringBuilder code) {
+			this.code=code;
+		}
+
+
+		@Override public Appendable append(final CharSequence sequence) {
+			return append(sequence, 0, sequence.length());
+		}
+
+		@Override public Appendable append(final CharSequence sequence, final int start, final int end) {
+
+			int run=start; // the start of the current run of verbatim characters
+
+			for (int i=start; i < end; ++i) {
+
+				final char c=sequence.charAt(i);
+
+				if ( layout(c) ) {
+
+					verbatim(sequence, run, i);
+					whitespace(c);
+
+					run=i+1;
+
+				}
+			}
+
+			verbatim(sequence, run, end);
+
+			return this;
+		}
+
+		@Override public Appendable append(final char c) {
+
+			if ( layout(c) ) { whitespace(c); } else { verbatim(String.valueOf(c), 0, 1); }
+
+			return this;
+		}
+
+
+		@Override public String toString() {
+			return code.toString();
+		}
+
+
+		////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+		private boolean layout(final char c) {
+			return c == '\f' || c == '\r' || c == '\n' || c == ' ' || c == '\t' || c == '\b';
+		}
+
+
+		private void whitespace(final char c) {
+			if ( last != '\0' ) {
+				if ( c == '\f' || c == '\n' ) { // line breaks required to terminate comments
+
+					wait='\n';
+
+				} else if ( (c == '\r' || c == ' ') && wait != '\n' ) {
+
+					wait=' ';
+
+				}
+			}
+		}
+
+		private void verbatim(final CharSequence sequence, final int start, final int end) {
+			if ( start < end ) {
+
+				final char c=sequence.charAt(start);
+
+				if ( wait == '\n' ) {
+
+					code.append('\n');
+
+				} else if ( wait == ' ' && last != '(' && c != ')' && last != '[' && c != ']' ) {
+
+					code.append(' ');
+
+				}
+
+				code.append(sequence, start, end);
+
+				last=sequence.charAt(end-1);
+				wait='\0';
+
+			}
+		}
+
+	}
+
 	private static final class Formatter implements Appendable {
 
 		private final Appendable code; // output target
@@ -22,9 +22,11 @@ import java.net.URLEncoder;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.*;
 import java.util.function.*;
 import java.util.stream.*;
 
+import static java.lang.Runtime.getRuntime;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
 import static java.util.function.Function.identity;
@@ -789,6 +791,82 @@ public final class Xtream<T> implements Stream<T> {
 	}
 
 
+	/**
+	 * Asynchronously maps elements preserving their order.
+	 *
+	 * @param executor    the executor for running {@code mapper}
+	 * @param parallelism the maximum number of concurrent {@code mapper} executions; equivalent to the number of
+	 *                    system processors if equal to zero
+	 * @param mapper      a function mapping elements to values
+	 * @param <R>         the type of the value returned by {@code mapper}
+	 *
+	 * @return an extended stream produced by concurrently applying {@code mapper} to each element of this extended
+	 * stream using {@code executor} and replacing it with the returned value, in the same order as the original
+	 * elements
+	 *
+	 * @throws IllegalArgumentException if {@code parallelism} is negative
+	 * @throws NullPointerException     if either {@code executor} or {@code mapper} is null
+	 * @see #async(Executor, int, boolean, Function)
+	 */
+	public <R> Xtream<R> async(
+			final Executor executor, final int parallelism, final Function<? super T, ? extends R> mapper
+	) {
+		return async(executor, parallelism, true, mapper);
+	}
+
+	/**
+	 * Asynchronously maps elements.
+	 *
+	 * <p>Elements are pulled from this extended stream only as long as less than {@code parallelism} mapping tasks
+	 * are pending, so that slow I/O-bound steps (e.g. {@linkplain com.metreeca.rest.actions.Fetch fetching} or
+	 * querying remote resources) overlap without unbounded buffering. The asset {@linkplain Context context} active
+	 * when the returned stream is consumed is made available to {@code mapper} on executor threads. Exceptions thrown
+	 * by {@code mapper} are rethrown when the failed element is consumed; closing the returned stream cancels pending
+	 * tasks.</p>
+	 *
+	 * @param executor    the executor for running {@code mapper}
+	 * @param parallelism the maximum number of concurrent {@code mapper} executions; equivalent to the number of
+	 *                    system processors if equal to zero
+	 * @param ordered     if {@code true} mapped values are returned in the same order as the original elements;
+	 *                    if {@code false} mapped values are returned as soon as they are available
+	 * @param mapper      a function mapping elements to values
+	 * @param <R>         the type of the value returned by {@code mapper}
+	 *
+	 * @return an extended stream produced by concurrently applying {@code mapper} to each element of this extended
+	 * stream using {@code executor} and replacing it with the returned value
+	 *
+	 * @throws IllegalArgumentException if {@code parallelism} is negative
+	 * @throws NullPointerException     if either {@code executor} or {@code mapper} is null
+	 */
+	public <R> Xtream<R> async(
+			final Executor executor, final int parallelism, final boolean ordered,
+			final Function<? super T, ? extends R> mapper
+	) {
+
+		if ( executor == null ) {
+			throw new NullPointerException("null executor");
+		}
+
+		if ( parallelism < 0 ) {
+			throw new IllegalArgumentException("negative parallelism");
+		}
+
+		if ( mapper == null ) {
+			throw new NullPointerException("null mapper");
+		}
+
+		final AsyncSpliterator<T, R> spliterator=new AsyncSpliterator<>(
+				executor, parallelism > 0 ? parallelism : getRuntime().availableProcessors(), ordered, mapper,
+				stream.spliterator()
+		);
+
+		return from(StreamSupport.stream(spliterator, false)
+				.onClose(spliterator::cancel)
+				.onClose(stream::close)
+		);
+	}
+
+
 	/**
 	 * Processes this extended stream.
 	 *
@@ -977,4 +1055,119 @@ public final class Xtream<T> implements Stream<T> {
 
 	}
 
+
+	private static final class AsyncSpliterator<T, R> implements Spliterator<R> {
+
+		private final Executor executor;
+		private final int parallelism;
+		private final boolean ordered;
+		private final Function<? super T, ? extends R> mapper;
+
+		private final Spliterator<T> base;
+
+		private final Deque<CompletableFuture<R>> pending=new ArrayDeque<>(); // in submission order
+
+		private Context context; // the context active on the consumer thread
+
+
+		private AsyncSpliterator(
+				final Executor executor, final int parallelism, final boolean ordered,
+				final Function<? super T, ? extends R> mapper,
+				final Spliterator<T> base
+		) {
+			this.executor=executor;
+			this.parallelism=parallelism;
+			this.ordered=ordered;
+			this.mapper=mapper;
+			this.base=base;
+		}
+
+
+		@Override public boolean tryAdvance(final Consumer<? super R> action) {
+
+			if ( context == null ) { context=Context.current(); }
+
+			while ( pending.size() < parallelism && base.tryAdvance(this::submit) ) {}
+
+			if ( pending.isEmpty() ) { return false; } else {
+
+				action.accept(join(ordered ? pending.removeFirst() : next()));
+
+				return true;
+
+			}
+		}
+
+		@Override public Spliterator<R> trySplit() {
+			return null;
+		}
+
+		@Override public long estimateSize() {
+			return base.estimateSize() == Long.MAX_VALUE ? Long.MAX_VALUE : base.estimateSize()+pending.size();
+		}
+
+		@Override public int characteristics() {
+			return ordered ? base.characteristics()&ORDERED : 0;
+		}
+
+
+		private void submit(final T element) {
+
+			final Context context=this.context;
+
+			pending.addLast(CompletableFuture.supplyAsync(() -> context == null
+					? mapper.apply(element)
+					: context.context(() -> mapper.apply(element)), executor
+			));
+		}
+
+		private CompletableFuture<R> next() {
+
+			CompletableFuture.anyOf(pending.toArray(new CompletableFuture<?>[0]))
+					.handle((value, error) -> null)
+					.join();
+
+			for (final Iterator<CompletableFuture<R>> iterator=pending.iterator(); iterator.hasNext(); ) {
+
+				final CompletableFuture<R> future=iterator.next();
+
+				if ( future.isDone() ) {
+
+					iterator.remove();
+
+					return future;
+
+				}
+			}
+
+			throw new IllegalStateException("no completed task");
+		}
+
+		private R join(final CompletableFuture<R> future) {
+			try {
+
+				return future.join();
+
+			} catch ( final CompletionException e ) {
+
+				final Throwable cause=e.getCause();
+
+				if ( cause instanceof RuntimeException ) { throw (RuntimeException)cause; }
+				if ( cause instanceof Error ) { throw (Error)cause; }
+
+				throw e;
+
+			}
+		}
+
+
+		private void cancel() {
+
+			for (final CompletableFuture<R> future : pending) { future.cancel(false); }
+
+			pending.clear();
+		}
+
+	}
+
 }
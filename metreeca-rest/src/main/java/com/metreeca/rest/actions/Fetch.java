@@ -21,6 +21,7 @@ import com.metreeca.rest.Request;
 import com.metreeca.rest.Response;
 import com.metreeca.rest.assets.Fetcher;
 import com.metreeca.rest.assets.Logger;
+import com.metreeca.rest.assets.Metrics;
 
 import java.util.Optional;
 import java.util.function.Function;
@@ -41,6 +42,7 @@ public final class Fetch implements Function<Request, Optional<Response>> {
 
 
 	private final Logger logger=asset(Logger.logger());
+	private final Metrics metrics=asset(Metrics.metrics());
 
 
 	/**
@@ -100,7 +102,17 @@ public final class Fetch implements Function<Request, Optional<Response>> {
 				.ofNullable(request)
 
 				.map(limit)
-				.map(fetcher)
+				.map(limited -> {
+
+					final long start=System.nanoTime();
+
+					try {
+						return fetcher.apply(limited);
+					} finally {
+						metrics.timer("Fetch.fetch").record(System.nanoTime()-start);
+					}
+
+				})
 
 				.filter(response -> {
 
@@ -108,6 +120,8 @@ public final class Fetch implements Function<Request, Optional<Response>> {
 
 					if ( !success ) {
 
+						metrics.counter("Fetch.failures").increment();
+
 						logger.warning(this, String.format("%d %s", response.status(), response.item()));
 
 					}
@@ -17,25 +17,49 @@
 package com.metreeca.rest.actions;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
-import static java.lang.System.currentTimeMillis;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 
 /**
- * Event rate limiting.
+ * Event rate limiting {thread-safe}.
  *
  * <p>Enforces a user-defined rate-limit to event processing.</p>
  *
+ * <p>Limits are enforced by a lock-free token bucket: events are accepted at the average rate of {@code events} per
+ * {@code period}, allowing for an initial {@linkplain #burst(int) burst} of events if the bucket was idle. Events
+ * may be optionally {@linkplain #key(Function) partitioned} into independent buckets, e.g. to enforce per-host rate
+ * limits to shared fetch actions.</p>
+ *
  * @param <T> the type of the rate-limited events
  */
 public final class Limit<T> implements UnaryOperator<T> {
 
-    private final Duration period;
+    private static final long Idle=Long.MIN_VALUE; // marker for evicted buckets
+    private static final long SweepPeriod=MILLISECONDS.toNanos(100); // minimum delay between idle bucket sweeps [ns]
+
+
+    private final long interval; // emission interval in ns (0 for no limits)
+
+    private int burst;
+    private Function<? super T, ?> key=event -> this;
+
+    private final Map<Object, Bucket> buckets=new ConcurrentHashMap<>();
+    private final AtomicLong sweep=new AtomicLong(nanoTime()); // the time of the next idle bucket sweep
 
-    private final BlockingQueue<Token> tokens=new DelayQueue<>();
+    private final LongAdder events=new LongAdder();
+    private final LongAdder delayed=new LongAdder();
+    private final LongAdder delay=new LongAdder();
 
 
     /**
@@ -73,10 +97,91 @@ public final class Limit<T> implements UnaryOperator<T> {
             throw new IllegalArgumentException("negative period");
         }
 
-        this.period=period;
+        this.interval=events == 0 || period.isZero() ? 0 : max(1, period.toNanos()/events);
+        this.burst=events;
+
+    }
+
+
+    /**
+     * Configures the burst capacity (defaults to the number of events accepted in a period).
+     *
+     * @param burst the maximum number of events accepted without delay after an idle period
+     *
+     * @return this action
+     *
+     * @throws IllegalArgumentException if {@code burst} is less than 1
+     */
+    public Limit<T> burst(final int burst) {
+
+        if ( burst < 1 ) {
+            throw new IllegalArgumentException("illegal burst capacity {"+burst+"}");
+        }
+
+        this.burst=burst;
+
+        return this;
+    }
+
+    /**
+     * Configures the bucket key (defaults to a single bucket shared by all events).
+     *
+     * @param key a function mapping events to the key of the bucket they are counted against (e.g. the target host
+     *            of a request); null keys are counted against a shared default bucket
+     *
+     * @return this action
+     *
+     * @throws NullPointerException if {@code key} is null
+     */
+    public Limit<T> key(final Function<? super T, ?> key) {
+
+        if ( key == null ) {
+            throw new NullPointerException("null key");
+        }
+
+        this.key=key;
+
+        return this;
+    }
+
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Retrieves the number of accepted events.
+     *
+     * @return the number of events accepted by this rate limit
+     */
+    public long events() {
+        return events.sum();
+    }
 
-        for (int i=0; i < events; ++i) { tokens.offer(new Token(0)); }
+    /**
+     * Retrieves the number of delayed events.
+     *
+     * @return the number of accepted events that had to wait before being accepted by this rate limit
+     */
+    public long delayed() {
+        return delayed.sum();
+    }
 
+    /**
+     * Retrieves the total wait time.
+     *
+     * @return the total time accepted events had to wait before being accepted by this rate limit
+     */
+    public Duration delay() {
+        return Duration.ofNanos(delay.sum());
+    }
+
+    /**
+     * Retrieves the number of rate buckets.
+     *
+     * @return the number of {@linkplain #key(Function) partition} buckets currently tracked by this rate limit; idle
+     * buckets, whose capacity is fully restored, are periodically evicted
+     */
+    public int buckets() {
+        return buckets.size();
     }
 
 
@@ -85,60 +190,208 @@ public final class Limit<T> implements UnaryOperator<T> {
     /**
      * Returns an event as soon as it is compatible with the enforced rate limits.
      *
+     * <p>The calling thread is blocked until the event is accepted; if interrupted while waiting, the interrupt
+     * status of the thread is restored once the event is accepted.</p>
+     *
      * @param event an event to be accepted
      *
      * @return the input {@code event}
      */
     @Override public T apply(final T event) {
-        if ( tokens.isEmpty() || period.isZero() ) { return event; } else {
 
-            while ( true ) {
-                try {
+        final long wait=reserve(event);
 
-                    tokens.take();
-                    tokens.offer(new Token(period.toMillis()));
+        if ( wait > 0 ) {
 
-                    return event;
+            final long deadline=nanoTime()+wait;
 
-                } catch ( final InterruptedException ignored ) {}
+            boolean interrupted=false;
+
+            for (long remaining=wait; remaining > 0; remaining=deadline-nanoTime()) {
+
+                LockSupport.parkNanos(this, remaining);
+
+                interrupted|=Thread.interrupted();
+            }
+
+            if ( interrupted ) {
+                Thread.currentThread().interrupt();
             }
 
         }
+
+        return event;
     }
 
+    /**
+     * Accepts an event if immediately compatible with the enforced rate limits.
+     *
+     * @param event an event to be accepted
+     *
+     * @return {@code true} if {@code event} was accepted without delay; {@code false} otherwise, in which case no
+     * capacity is consumed
+     */
+    public boolean tryAcquire(final T event) {
 
-    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        if ( interval == 0 ) { return count(0); } else {
+
+            final long tolerance=(burst-1)*interval;
+
+            for (AtomicLong bucket=bucket(event); true; ) {
+
+                final long now=nanoTime();
+                final long tat=bucket.get();
+                final long base=max(tat, now);
+
+                if ( tat == Idle ) { // evicted by a concurrent sweep
+
+                    bucket=bucket(event);
 
-    private static final class Token implements Delayed {
+                } else if ( base-now > tolerance ) {
 
-        private final long time;
+                    return false;
 
+                } else if ( bucket.compareAndSet(tat, base+interval) ) {
+
+                    return count(0);
+
+                }
+
+            }
 
-        private Token(final long delay) {
-            time=currentTimeMillis()+delay;
         }
+    }
 
+    /**
+     * Asynchronously accepts an event.
+     *
+     * <p>Capacity for the event is reserved immediately, without blocking the calling thread.</p>
+     *
+     * @param event an event to be accepted
+     *
+     * @return a future completed with {@code event} as soon as it is compatible with the enforced rate limits
+     */
+    public CompletableFuture<T> async(final T event) {
+
+        final long wait=reserve(event);
+
+        if ( wait <= 0 ) { return CompletableFuture.completedFuture(event); } else {
+
+            final CompletableFuture<T> future=new CompletableFuture<>();
+
+            Scheduler.scheduler.schedule(() -> future.complete(event), wait, NANOSECONDS);
+
+            return future;
 
-        @Override public long getDelay(final TimeUnit unit) {
-            return unit.convert(time-currentTimeMillis(), MILLISECONDS);
         }
+    }
 
 
-        @Override public int compareTo(final Delayed delayed) {
-            return delayed instanceof Token
-                    ? Long.compare(time, ((Token)delayed).time)
-                    : Long.compare(getDelay(MILLISECONDS), delayed.getDelay(MILLISECONDS));
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Reserves capacity for an event.
+     *
+     * @return the time in ns the event has to wait before being accepted
+     */
+    private long reserve(final T event) {
+
+        if ( interval == 0 ) { count(0); return 0; } else {
+
+            final long tolerance=(burst-1)*interval;
+
+            for (AtomicLong bucket=bucket(event); true; ) {
+
+                final long now=nanoTime();
+                final long tat=bucket.get();
+                final long base=max(tat, now); // theoretical arrival time of this event
+
+                if ( tat == Idle ) { // evicted by a concurrent sweep
+
+                    bucket=bucket(event);
+
+                } else if ( bucket.compareAndSet(tat, base+interval) ) {
+
+                    final long wait=max(0, base-now-tolerance);
+
+                    count(wait);
+
+                    return wait;
+                }
+
+            }
+
         }
+    }
+
+    private AtomicLong bucket(final T event) {
 
+        final Object id=event == null ? this : key.apply(event);
 
-        @Override public int hashCode() {
-            return Long.hashCode(time);
+        final long now=nanoTime();
+        final long next=sweep.get();
+
+        if ( now-next >= 0 && sweep.compareAndSet(next, now+max(SweepPeriod, burst*interval)) ) {
+            sweep(now);
         }
 
-        @Override public boolean equals(final Object object) {
-            return object instanceof Token && time == ((Token)object).time;
+        return buckets.computeIfAbsent(id == null ? this : id, _id -> new Bucket(now));
+    }
+
+    /*
+     * Evicts idle buckets, whose theoretical arrival time is already past and that are thus equivalent to new ones;
+     * evicted buckets are marked, so that concurrent acquisitions holding a stale reference retry on a fresh bucket.
+     */
+    private void sweep(final long now) {
+        buckets.forEach((id, bucket) -> {
+
+            final long tat=bucket.get();
+
+            if ( tat != Idle && tat <= now && bucket.compareAndSet(tat, Idle) ) {
+                buckets.remove(id, bucket);
+            }
+
+        });
+    }
+
+    private boolean count(final long wait) {
+
+        events.increment();
+
+        if ( wait > 0 ) {
+            delayed.increment();
+            delay.add(wait);
         }
 
+        return true;
+    }
+
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static final class Bucket extends AtomicLong { // theoretical arrival time of the next event
+
+        private static final long serialVersionUID=-1428187405395366736L;
+
+
+        private Bucket(final long tat) {
+            super(tat);
+        }
+
+    }
+
+    private static final class Scheduler { // lazy holder
+
+        private static final ScheduledExecutorService scheduler=Executors.newSingleThreadScheduledExecutor(task -> {
+
+            final Thread thread=new Thread(task, Limit.class.getName());
+
+            thread.setDaemon(true);
+
+            return thread;
+
+        });
+
     }
 
 }
@@ -17,6 +17,7 @@
 package com.metreeca.rest.assets;
 
 import com.metreeca.json.Shape;
+import com.metreeca.json.queries.Facets;
 import com.metreeca.json.queries.Stats;
 import com.metreeca.json.queries.Terms;
 import com.metreeca.json.shapes.Field;
@@ -57,6 +58,9 @@ import static java.util.Collections.unmodifiableSet;
  */
 public interface Engine extends Wrapper {
 
+	public static IRI facets=term("facets");
+	public static IRI facet=term("facet");
+
 	public static IRI terms=term("terms");
 	public static IRI stats=term("stats");
 
@@ -109,6 +113,20 @@ public interface Engine extends Wrapper {
 	}
 
 
+	public static Shape FacetsShape(final Facets query) {
+		return field(facets, multiple(), and(
+
+				field(facet, required(), datatype(XSD.STRING)),
+
+				and(query.facets().values().stream().map(facet -> facet instanceof Terms
+						? TermsShape((Terms)facet)
+						: StatsShape((Stats)facet)
+				))
+
+		));
+	}
+
+
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	/**
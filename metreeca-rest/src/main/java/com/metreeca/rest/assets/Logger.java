@@ -19,10 +19,14 @@ package com.metreeca.rest.assets;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.*;
 import java.util.logging.Formatter;
 import java.util.logging.*;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static com.metreeca.rest.assets.Logger.Level.*;
@@ -41,6 +45,8 @@ public abstract class Logger {
 
 	private static final Map<String, java.util.logging.Logger> loggers=new HashMap<>(); // retain to prevent gc
 
+	private static final Map<String, java.util.logging.Logger> backends=new ConcurrentHashMap<>(); // lookup cache
+
 
 	/**
 	 * Logging levels.
@@ -94,31 +100,48 @@ public abstract class Logger {
 	public static Supplier<Logger> logger() {
 		return () -> {
 
-			// logging not configured: reset and load compact console configuration ;(unless on GAE)
+			configure();
 
-			if ( System.getProperty("java.util.logging.config.file") == null
-					&& System.getProperty("java.util.logging.config.class") == null
-					&& !"Production".equals(System.getProperty("com.google.appengine.runtime.environment"))
-			) {
+			return new SystemLogger();
 
-				final java.util.logging.Logger logger=java.util.logging.Logger.getLogger("");
+		};
+	}
 
-				for (final Handler h : logger.getHandlers()) { logger.removeHandler(h); } // clear existing handlers
 
-				logger.setLevel(java.util.logging.Level.INFO);
+	private static void configure() {
 
-				final ConsoleHandler handler=new ConsoleHandler();
+		// logging not configured: reset and load compact console configuration ;(unless on GAE)
 
-				handler.setLevel(java.util.logging.Level.ALL); // enable detailed reporting from children loggers
-				handler.setFormatter(new ConsoleFormatter());
+		if ( System.getProperty("java.util.logging.config.file") == null
+				&& System.getProperty("java.util.logging.config.class") == null
+				&& !"Production".equals(System.getProperty("com.google.appengine.runtime.environment"))
+		) {
 
-				logger.addHandler(handler);
+			final java.util.logging.Logger logger=java.util.logging.Logger.getLogger("");
 
-			}
+			for (final Handler h : logger.getHandlers()) { logger.removeHandler(h); } // clear existing handlers
 
-			return new SystemLogger();
+			logger.setLevel(java.util.logging.Level.INFO);
 
-		};
+			final ConsoleHandler handler=new ConsoleHandler();
+
+			handler.setLevel(java.util.logging.Level.ALL); // enable detailed reporting from children loggers
+			handler.setFormatter(new ConsoleFormatter());
+
+			logger.addHandler(handler);
+
+		}
+	}
+
+	private static String name(final Object source) {
+		return source == null ? ""
+				: source instanceof String ? source.toString()
+				: source instanceof Class ? ((Class<?>)source).getName()
+				: source.getClass().getName();
+	}
+
+	private static java.util.logging.Logger backend(final String name) {
+		return backends.computeIfAbsent(name, java.util.logging.Logger::getLogger);
 	}
 
 
@@ -196,15 +219,21 @@ public abstract class Logger {
 			throw new NullPointerException("null task");
 		}
 
+		return time(task, elapsed -> {});
+	}
+
+	static <V> Function<BiConsumer<Long, V>, V> time(final Supplier<V> task, final LongConsumer elapsed) {
 		return consumer -> {
 
-			final long start=System.currentTimeMillis();
+			final long start=System.nanoTime();
 
 			final V value=task.get();
 
-			final long stop=System.currentTimeMillis();
+			final long stop=System.nanoTime();
+
+			elapsed.accept(stop-start);
 
-			consumer.accept(Math.max(stop-start, 1), value);
+			consumer.accept(Math.max(TimeUnit.NANOSECONDS.toMillis(stop-start), 1), value);
 
 			return value;
 
@@ -388,17 +417,33 @@ public abstract class Logger {
 
 	private static final class ConsoleFormatter extends Formatter {
 
-		private static final Pattern EOLPattern=Pattern.compile("\n");
+		@Override public String format(final LogRecord record) {
 
+			final String level=level(record.getLevel());
+			final String name=name(record.getLoggerName());
+			final String message=record.getMessage();
 
-		@Override public String format(final LogRecord record) {
+			final StringBuilder builder=new StringBuilder(32+(message == null ? 0 : message.length()));
+
+			for (int n=level.length(); n < 3; ++n) { builder.append(' '); }
 
-			return String.format(Locale.ROOT, "%3s %-15s %s%s\n",
-					level(record.getLevel()),
-					name(record.getLoggerName()),
-					message(record.getMessage()),
-					trace(record.getThrown()));
+			builder.append(level).append(' ').append(name);
 
+			for (int n=name.length(); n < 15; ++n) { builder.append(' '); }
+
+			builder.append(' ');
+
+			if ( message != null ) {
+				for (int i=0, n=message.length(); i < n; ++i) {
+
+					final char c=message.charAt(i);
+
+					if ( c == '\n' ) { builder.append("\n    "); } else { builder.append(c); }
+
+				}
+			}
+
+			return builder.append(trace(record.getThrown())).append('\n').toString();
 		}
 
 
@@ -416,10 +461,6 @@ public abstract class Logger {
 			return name == null ? "<global>" : name.substring(name.lastIndexOf('.')+1);
 		}
 
-		private String message(final CharSequence message) {
-			return message == null ? "" : EOLPattern.matcher(message).replaceAll("\n    ");
-		}
-
 		private String trace(final Throwable cause) {
 			if ( cause == null ) { return ""; } else {
 				try (
@@ -447,22 +488,283 @@ public abstract class Logger {
 				final Object source, final Supplier<String> message, final Throwable cause
 		) {
 
-			final String logger=(source == null) ? ""
-					: source instanceof String ? source.toString()
-					: source instanceof Class ? ((Class<?>)source).getName()
-					: source.getClass().getName();
+			final String name=name(source);
+			final java.util.logging.Logger logger=backend(name);
+
+			if ( logger.isLoggable(level.level) ) {
+
+				final LogRecord record=new LogRecord(level.level, message.get());
+
+				record.setLoggerName(name);
+				record.setSourceClassName(name);
+				//record.setSourceMethodName(???); // !!! support
+				record.setThrown(cause);
+
+				logger.log(record);
+
+			}
+
+			return this;
+		}
+	}
+
+
+	/**
+	 * Asynchronous event logger.
+	 *
+	 * <p>Logs events through the standard {@linkplain LogManager Java logging} facilities like the {@linkplain
+	 * #logger() default} logger, but hands log entries over to a background writer thread through a bounded
+	 * lock-free ring buffer, so that record publishing and formatting don't delay the logging thread. Message
+	 * suppliers are evaluated on the logging thread, only if the entry level is enabled for the source logger.</p>
+	 *
+	 * <p>If the ring buffer is full, new entries are either dropped, counting them, or the logging thread waits for
+	 * free capacity, according to the configured {@linkplain #drop(boolean) policy}. Pending entries are flushed on
+	 * {@linkplain #close() close}.</p>
+	 */
+	public static final class AsyncLogger extends Logger implements AutoCloseable {
+
+		private static final int DefaultCapacity=1024;
+
+		private static final long IdleWait=TimeUnit.MILLISECONDS.toNanos(1);
+
+		private static final long Sealed=-1; // head marker for closed buffers
+
+
+		private final LogRecord[] records;
+		private final AtomicLongArray sequences;
+
+		private final int mask;
+
+		private final AtomicLong head=new AtomicLong(); // next producer position
+		private long tail; // next consumer position; accessed only by the writer thread
+
+		private final AtomicLong dropped=new AtomicLong();
+
+		private volatile boolean drop=true;
+		private volatile boolean closed;
+		private volatile boolean idle; // the writer thread is parked or about to park waiting for records
+
+		private final Thread writer;
+
+
+		/**
+		 * Creates an asynchronous logger with a default buffer capacity.
+		 */
+		public AsyncLogger() {
+			this(DefaultCapacity);
+		}
+
+		/**
+		 * Creates an asynchronous logger.
+		 *
+		 * @param capacity the capacity of the ring buffer; rounded up to the next power of two
+		 *
+		 * @throws IllegalArgumentException if {@code capacity} is less than 1 or greater than 2<sup>30</sup>
+		 */
+		public AsyncLogger(final int capacity) {
+
+			if ( capacity < 1 || capacity > 1<<30 ) {
+				throw new IllegalArgumentException("illegal capacity {"+capacity+"}");
+			}
+
+			final int size=Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity)<<1;
+
+			this.records=new LogRecord[size];
+			this.sequences=new AtomicLongArray(size);
+			this.mask=size-1;
+
+			for (int i=0; i < size; ++i) { sequences.set(i, i); }
+
+			configure();
+
+			this.writer=new Thread(this::write, getClass().getSimpleName());
+
+			writer.setDaemon(true);
+			writer.start();
+		}
+
+
+		/**
+		 * Configures the overflow policy (defaults to {@code true}).
+		 *
+		 * @param drop if {@code true}, entries are dropped if the ring buffer is full; if {@code false}, the logging
+		 *             thread waits until buffer capacity is available
+		 *
+		 * @return this logger
+		 */
+		public AsyncLogger drop(final boolean drop) {
+
+			this.drop=drop;
+
+			return this;
+		}
+
+		/**
+		 * Retrieves the number of dropped entries.
+		 *
+		 * @return the number of entries dropped so far due to ring buffer overflow or submitted after the logger was
+		 * {@linkplain #close() closed}
+		 */
+		public long dropped() {
+			return dropped.get();
+		}
+
+
+		@Override public Logger entry(final Level level,
+				final Object source, final Supplier<String> message, final Throwable cause
+		) {
+
+			final String name=name(source);
 
-			final LogRecord record=new LogRecord(level.level, message.get());
+			if ( backend(name).isLoggable(level.level) ) {
 
-			record.setLoggerName(logger);
-			record.setSourceClassName(logger);
-			//record.setSourceMethodName(???); // !!! support
-			record.setThrown(cause);
+				if ( closed ) { dropped.incrementAndGet(); } else {
 
-			java.util.logging.Logger.getLogger(logger).log(record);
+					final LogRecord record=new LogRecord(level.level, message.get());
+
+					record.setLoggerName(name);
+					record.setSourceClassName(name);
+					record.setThrown(cause);
+
+					while ( !offer(record) ) {
+						if ( drop || closed ) { // full or sealed after closing
+
+							dropped.incrementAndGet();
+
+							break;
+
+						} else {
+
+							LockSupport.parkNanos(IdleWait);
+
+						}
+					}
+
+				}
+
+			}
 
 			return this;
 		}
+
+
+		/**
+		 * Flushes pending entries and stops the background writer thread.
+		 *
+		 * <p>Entries submitted concurrently with or after closing are either flushed or counted as {@linkplain
+		 * #dropped() dropped}.</p>
+		 */
+		@Override public void close() {
+
+			closed=true;
+
+			LockSupport.unpark(writer);
+
+			try {
+
+				writer.join();
+
+			} catch ( final InterruptedException e ) {
+
+				Thread.currentThread().interrupt();
+
+			}
+		}
+
+
+		//// Ring Buffer ///////////////////////////////////////////////////////////////////////////////////////////////
+
+		private boolean offer(final LogRecord record) { // multiple producers
+
+			long position=head.get();
+
+			while ( true ) {
+
+				if ( position == Sealed ) { return false; }
+
+				final int index=(int)(position&mask);
+				final long delta=sequences.get(index)-position;
+
+				if ( delta == 0 ) {
+
+					if ( head.compareAndSet(position, position+1) ) {
+
+						records[index]=record;
+						sequences.set(index, position+1); // publish record, ordered before reading the idle flag
+
+						if ( idle ) { LockSupport.unpark(writer); }
+
+						return true;
+
+					} else {
+
+						position=head.get();
+
+					}
+
+				} else if ( delta < 0 ) { // full
+
+					return false;
+
+				} else { // claimed by another producer
+
+					position=head.get();
+
+				}
+			}
+		}
+
+		private boolean available() {
+			return sequences.get((int)(tail&mask)) == tail+1;
+		}
+
+		private LogRecord poll() { // single consumer
+
+			final int index=(int)(tail&mask);
+
+			if ( !available() ) { return null; } else {
+
+				final LogRecord record=records[index];
+
+				records[index]=null;
+				sequences.lazySet(index, tail+mask+1); // release slot
+
+				++tail;
+
+				return record;
+			}
+		}
+
+		private void write() {
+			while ( true ) {
+
+				final LogRecord record=poll();
+
+				if ( record != null ) {
+
+					try {
+						backend(record.getLoggerName()).log(record);
+					} catch ( final RuntimeException ignored ) {} // keep on writing
+
+				} else if ( closed ) {
+
+					if ( tail == head.get() && head.compareAndSet(tail, Sealed) ) { break; } // drained and sealed
+
+					LockSupport.parkNanos(this, IdleWait); // wait for claimed records to be published
+
+				} else {
+
+					idle=true; // ordered before checking for records published in the meantime
+
+					if ( !available() && !closed ) { LockSupport.park(this); } // until unparked by producers
+
+					idle=false;
+
+				}
+
+			}
+		}
+
 	}
 
 }
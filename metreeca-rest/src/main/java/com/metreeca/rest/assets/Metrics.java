@@ -0,0 +1,498 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.rest.assets;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.*;
+import java.util.regex.Pattern;
+
+import javax.json.*;
+
+import static java.lang.String.format;
+
+
+/**
+ * Metrics registry {thread-safe}.
+ *
+ * <p>Collects named counters, latency timers and gauges, exposing snapshots as JSON objects or in the
+ * <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus text format</a>.</p>
+ *
+ * <p>Timers record {@link System#nanoTime()} intervals into log-linear histograms, with eight sub-buckets for each
+ * power of two, supporting percentile estimates with a relative error below 12.5%.</p>
+ */
+public final class Metrics {
+
+	/**
+	 * Retrieves the default metrics registry factory.
+	 *
+	 * @return the default metrics registry factory, which creates in-memory metrics registries
+	 */
+	public static Supplier<Metrics> metrics() {
+		return Metrics::new;
+	}
+
+
+	private static final double[] Quantiles={ 0.5, 0.9, 0.99 };
+
+	private static final Pattern IllegalPattern=Pattern.compile("[^a-zA-Z0-9_:]");
+
+
+	private static String prometheus(final String name) {
+		return IllegalPattern.matcher(name).replaceAll("_");
+	}
+
+	private static double millis(final long nanos) {
+		return nanos/1e6;
+	}
+
+	private static double seconds(final long nanos) {
+		return nanos/1e9;
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	private final Map<String, Counter> counters=new ConcurrentSkipListMap<>();
+	private final Map<String, Timer> timers=new ConcurrentSkipListMap<>();
+	private final Map<String, Supplier<? extends Number>> gauges=new ConcurrentSkipListMap<>();
+
+
+	/**
+	 * Retrieves a counter.
+	 *
+	 * @param name the name of the counter to be retrieved
+	 *
+	 * @return the counter registered with {@code name}, created on first access
+	 *
+	 * @throws NullPointerException if {@code name} is null
+	 */
+	public Counter counter(final String name) {
+
+		if ( name == null ) {
+			throw new NullPointerException("null name");
+		}
+
+		return counters.computeIfAbsent(name, key -> new Counter());
+	}
+
+	/**
+	 * Retrieves a timer.
+	 *
+	 * @param name the name of the timer to be retrieved
+	 *
+	 * @return the timer registered with {@code name}, created on first access
+	 *
+	 * @throws NullPointerException if {@code name} is null
+	 */
+	public Timer timer(final String name) {
+
+		if ( name == null ) {
+			throw new NullPointerException("null name");
+		}
+
+		return timers.computeIfAbsent(name, key -> new Timer());
+	}
+
+	/**
+	 * Registers a gauge.
+	 *
+	 * @param name  the name of the gauge to be registered
+	 * @param gauge a supplier returning the current value of the gauge; replaces the supplier previously registered
+	 *              with {@code name}, if one was defined
+	 *
+	 * @return this metrics registry
+	 *
+	 * @throws NullPointerException if either {@code name} or {@code gauge} is null
+	 */
+	public Metrics gauge(final String name, final Supplier<? extends Number> gauge) {
+
+		if ( name == null ) {
+			throw new NullPointerException("null name");
+		}
+
+		if ( gauge == null ) {
+			throw new NullPointerException("null gauge");
+		}
+
+		gauges.put(name, gauge);
+
+		return this;
+	}
+
+
+	/**
+	 * Times the execution of a task.
+	 *
+	 * @param name the name of the timer recording the execution time of {@code task}
+	 * @param task the task whose execution is to be timed
+	 *
+	 * @return a function taking as argument a timing consumer and returning null; the timing consumer takes as
+	 * arguments the {@code task} execution time in milliseconds
+	 *
+	 * @throws NullPointerException if either {@code name} or {@code task} is null
+	 * @see Logger#time(Runnable)
+	 */
+	public Function<LongConsumer, Void> time(final String name, final Runnable task) {
+
+		if ( name == null ) {
+			throw new NullPointerException("null name");
+		}
+
+		if ( task == null ) {
+			throw new NullPointerException("null task");
+		}
+
+		return consumer -> time(name, () -> {
+
+			task.run();
+
+			return (Void)null;
+
+		}).apply((t, v) -> consumer.accept(t));
+	}
+
+	/**
+	 * Times the execution of a task.
+	 *
+	 * @param <V>  the type of the value generated by {@code task}
+	 * @param name the name of the timer recording the execution time of {@code task}
+	 * @param task the task whose execution is to be timed
+	 *
+	 * @return a function taking as argument a timing consumer and returning the value generated by {@code task}; the
+	 * timing consumer takes as arguments the {@code task} execution time in milliseconds and its generated value
+	 *
+	 * @throws NullPointerException if either {@code name} or {@code task} is null
+	 * @see Logger#time(Supplier)
+	 */
+	public <V> Function<BiConsumer<Long, V>, V> time(final String name, final Supplier<V> task) {
+
+		if ( name == null ) {
+			throw new NullPointerException("null name");
+		}
+
+		if ( task == null ) {
+			throw new NullPointerException("null task");
+		}
+
+		return Logger.time(task, timer(name)::record);
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Creates a JSON snapshot.
+	 *
+	 * @return a JSON object mapping metric names to their current values, grouped by metric type; timer values are
+	 * expressed in milliseconds
+	 */
+	public JsonObject json() {
+
+		final JsonObjectBuilder counters=Json.createObjectBuilder();
+		final JsonObjectBuilder gauges=Json.createObjectBuilder();
+		final JsonObjectBuilder timers=Json.createObjectBuilder();
+
+		this.counters.forEach((name, counter) -> counters.add(name, counter.count()));
+
+		this.gauges.forEach((name, gauge) -> {
+
+			final Number value=gauge.get();
+
+			if ( value != null ) { gauges.add(name, value.doubleValue()); }
+
+		});
+
+		this.timers.forEach((name, timer) -> {
+
+			final JsonObjectBuilder object=Json.createObjectBuilder()
+					.add("count", timer.count())
+					.add("total", millis(timer.total()))
+					.add("max", millis(timer.max()));
+
+			for (final double quantile : Quantiles) {
+				object.add(format(Locale.ROOT, "p%d", Math.round(quantile*100)), millis(timer.percentile(quantile)));
+			}
+
+			timers.add(name, object);
+
+		});
+
+		return Json.createObjectBuilder()
+				.add("counters", counters)
+				.add("gauges", gauges)
+				.add("timers", timers)
+				.build();
+	}
+
+	/**
+	 * Creates a Prometheus snapshot.
+	 *
+	 * @return a textual representation of the current metric values in Prometheus text exposition format; illegal
+	 * characters in metric names are replaced with underscores and timers are exposed as summaries in seconds
+	 */
+	public String prometheus() {
+
+		final StringBuilder builder=new StringBuilder(1000);
+
+		counters.forEach((name, counter) -> {
+
+			final String metric=prometheus(name)+"_total";
+
+			builder.append("# TYPE ").append(metric).append(" counter\n");
+			builder.append(metric).append(' ').append(counter.count()).append('\n');
+
+		});
+
+		gauges.forEach((name, gauge) -> {
+
+			final Number value=gauge.get();
+
+			if ( value != null ) {
+
+				final String metric=prometheus(name);
+
+				builder.append("# TYPE ").append(metric).append(" gauge\n");
+				builder.append(metric).append(' ').append(value.doubleValue()).append('\n');
+
+			}
+
+		});
+
+		timers.forEach((name, timer) -> {
+
+			final String metric=prometheus(name)+"_seconds";
+
+			builder.append("# TYPE ").append(metric).append(" summary\n");
+
+			for (final double quantile : Quantiles) {
+				builder.append(metric).append("{quantile=\"").append(quantile).append("\"} ")
+						.append(seconds(timer.percentile(quantile))).append('\n');
+			}
+
+			builder.append(metric).append("_sum ").append(seconds(timer.total())).append('\n');
+			builder.append(metric).append("_count ").append(timer.count()).append('\n');
+
+		});
+
+		return builder.toString();
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Event counter {thread-safe}.
+	 */
+	public static final class Counter {
+
+		private final LongAdder count=new LongAdder();
+
+
+		private Counter() {}
+
+
+		/**
+		 * Increments this counter.
+		 *
+		 * @return this counter
+		 */
+		public Counter increment() {
+
+			count.increment();
+
+			return this;
+		}
+
+		/**
+		 * Increments this counter.
+		 *
+		 * @param delta the increment to be added to this counter
+		 *
+		 * @return this counter
+		 */
+		public Counter add(final long delta) {
+
+			count.add(delta);
+
+			return this;
+		}
+
+
+		/**
+		 * Retrieves the current count.
+		 *
+		 * @return the current value of this counter
+		 */
+		public long count() {
+			return count.sum();
+		}
+
+	}
+
+	/**
+	 * Latency timer {thread-safe}.
+	 */
+	public static final class Timer {
+
+		private static final int Precision=3; // log2 of the number of sub-buckets for each power of two
+		private static final int Buckets=1<<Precision;
+
+
+		private static int bucket(final long nanos) {
+			if ( nanos < Buckets ) { return (int)Math.max(nanos, 0); } else {
+
+				final int exponent=63-Long.numberOfLeadingZeros(nanos);
+				final int shift=exponent-Precision;
+
+				return Buckets+shift*Buckets+(int)((nanos >>> shift)&(Buckets-1));
+			}
+		}
+
+		private static long upper(final int bucket) { // inclusive upper bound for bucket values
+			if ( bucket < Buckets ) { return bucket; } else {
+
+				final int shift=(bucket-Buckets)/Buckets;
+				final int offset=(bucket-Buckets)%Buckets;
+
+				return ((long)(Buckets+offset) << shift)+(1L << shift)-1;
+			}
+		}
+
+
+		private final AtomicLongArray counts=new AtomicLongArray(bucket(Long.MAX_VALUE)+1);
+
+		private final LongAdder count=new LongAdder();
+		private final LongAdder total=new LongAdder();
+		private final AtomicLong max=new AtomicLong();
+
+
+		private Timer() {}
+
+
+		/**
+		 * Records a time interval.
+		 *
+		 * @param nanos the length of the time interval to be recorded in nanoseconds; negative values are recorded as
+		 *              0
+		 *
+		 * @return this timer
+		 */
+		public Timer record(final long nanos) {
+
+			final long value=Math.max(nanos, 0);
+
+			counts.incrementAndGet(bucket(value));
+
+			count.increment();
+			total.add(value);
+
+			for (long current=max.get(); value > current && !max.compareAndSet(current, value); current=max.get()) {}
+
+			return this;
+		}
+
+		/**
+		 * Records a time interval.
+		 *
+		 * @param duration the length of the time interval to be recorded
+		 * @param unit     the time unit of {@code duration}
+		 *
+		 * @return this timer
+		 *
+		 * @throws NullPointerException if {@code unit} is null
+		 */
+		public Timer record(final long duration, final TimeUnit unit) {
+
+			if ( unit == null ) {
+				throw new NullPointerException("null unit");
+			}
+
+			return record(unit.toNanos(duration));
+		}
+
+
+		/**
+		 * Retrieves the number of recorded intervals.
+		 *
+		 * @return the number of intervals recorded so far by this timer
+		 */
+		public long count() {
+			return count.sum();
+		}
+
+		/**
+		 * Retrieves the total recorded time.
+		 *
+		 * @return the total length in nanoseconds of the intervals recorded so far by this timer
+		 */
+		public long total() {
+			return total.sum();
+		}
+
+		/**
+		 * Retrieves the maximum recorded time.
+		 *
+		 * @return the length in nanoseconds of the longest interval recorded so far by this timer
+		 */
+		public long max() {
+			return max.get();
+		}
+
+		/**
+		 * Estimates a percentile.
+		 *
+		 * @param quantile the target quantile, in the range [0, 1]
+		 *
+		 * @return the estimated length in nanoseconds of the recorded intervals at {@code quantile} or 0, if no
+		 * interval was recorded
+		 *
+		 * @throws IllegalArgumentException if {@code quantile} is outside the [0, 1] range
+		 */
+		public long percentile(final double quantile) {
+
+			if ( !(quantile >= 0 && quantile <= 1) ) {
+				throw new IllegalArgumentException("quantile outside [0, 1] range");
+			}
+
+			final long[] snapshot=new long[counts.length()];
+
+			long count=0;
+
+			for (int i=0; i < snapshot.length; ++i) { count+=snapshot[i]=counts.get(i); }
+
+			final long rank=Math.max(1, (long)Math.ceil(quantile*count));
+
+			long cumulative=0;
+
+			for (int i=0; i < snapshot.length; ++i) {
+				if ( (cumulative+=snapshot[i]) >= rank ) {
+					return Math.min(upper(i), max());
+				}
+			}
+
+			return 0;
+		}
+
+	}
+
+}
@@ -16,9 +16,9 @@
 
 package com.metreeca.rest.formats;
 
-import com.metreeca.json.Shape;
-import com.metreeca.json.Values;
+import com.metreeca.json.*;
 import com.metreeca.json.shapes.Field;
+import com.metreeca.rest.Either;
 
 import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
@@ -29,11 +29,15 @@ import java.net.URISyntaxException;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.json.*;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
 
+import static com.metreeca.json.Trace.trace;
 import static com.metreeca.json.Values.*;
 import static com.metreeca.json.shapes.Field.labels;
 
@@ -105,6 +109,189 @@ final class JSONLDDecoder {
 	}
 
 
+	/**
+	 * Incrementally decodes a JSON-LD object.
+	 *
+	 * <p>Root fields are decoded as they are read from {@code parser} and array values one item at a time, without
+	 * building an in-memory JSON tree for the whole object. The description of each decoded root field value is
+	 * submitted to {@code checker} as soon as it's available and decoding is aborted on the first reported issue;
+	 * array items describing objects with explicit identifiers are merged by identifier and submitted at the end of
+	 * the array, as their description may be split over multiple items.</p>
+	 *
+	 * @param parser  the parser for the JSON-LD object to be decoded, positioned before the start of the object
+	 * @param checker a function taking as arguments the root field and the description of one of its values
+	 *                (including the linking statement) and returning an optional trace reporting shape violations
+	 *
+	 * @return either the trace reported by {@code checker} for the first invalid value, qualified by the field IRI,
+	 * or the decoded statements
+	 *
+	 * @throws JsonException if {@code parser} content is malformed or unexpected
+	 */
+	Either<Trace, Collection<Statement>> decode(
+			final JsonParser parser, final BiFunction<Field, Entry<Value, Collection<Statement>>, Optional<Trace>> checker
+	) throws JsonException {
+
+		if ( parser == null ) {
+			throw new NullPointerException("null parser");
+		}
+
+		if ( checker == null ) {
+			throw new NullPointerException("null checker");
+		}
+
+		if ( !parser.hasNext() || parser.next() != Event.START_OBJECT ) {
+			error("expected JSON object");
+		}
+
+		final Map<String, Field> labels=labels(shape, keywords);
+		final Collection<Statement> model=new LinkedHashSet<>();
+
+		for (Event event=parser.next(); event != Event.END_OBJECT; event=parser.next()) {
+
+			final String label=resolver.apply(parser.getString());
+			final Event next=parser.next();
+
+			if ( label.equals("@id") ) {
+
+				if ( next != Event.VALUE_STRING ) {
+					error("<%s> field is not a string", label);
+				}
+
+				final String expected=focus.stringValue();
+				final String declared=resolve(parser.getString());
+
+				if ( !declared.equals(expected) ) {
+					error("conflicting object identifiers: expected <%s>, declared <%s>", expected, declared);
+				}
+
+			} else if ( label.equals("@type") && next == Event.VALUE_STRING ) {
+
+				model.add(statement(focus, RDF.TYPE, iri(parser.getString())));
+
+			} else if ( label.equals("@type") && next == Event.START_ARRAY ) {
+
+				for (Event item=parser.next(); item != Event.END_ARRAY; item=parser.next()) {
+					if ( item == Event.VALUE_STRING ) {
+						model.add(statement(focus, RDF.TYPE, iri(parser.getString())));
+					} else {
+						skip(parser, item);
+					}
+				}
+
+			} else if ( label.startsWith("@") ) { // ignore other keywords (e.g. @context objects)
+
+				skip(parser, next);
+
+			} else if ( next != Event.VALUE_NULL ) {
+
+				final Field field=labels.get(label);
+
+				if ( field == null ) {
+					return error("unknown property label <%s>", label);
+				}
+
+				final Shape nested=field.shape();
+
+				final boolean tagged=JSONLDInspector.tagged(nested);
+				final Set<String> langs=tagged ? JSONLDInspector.langs(nested).orElseGet(Collections::emptySet) : emptySet();
+				final String lang=langs.size() == 1 ? langs.iterator().next() : "";
+
+				final Stream<Entry<Value, Stream<Statement>>> values;
+
+				if ( next == Event.START_ARRAY ) { // decode one item at a time
+
+					// objects with explicit identifiers may be split over multiple items: merge them before checking,
+					// so that constraints on their description are evaluated on the whole of it
+
+					final Map<Value, Stream<Statement>> identified=new LinkedHashMap<>();
+
+					for (Event item=parser.next(); item != Event.END_ARRAY; item=parser.next()) {
+
+						final JsonValue value=parser.getValue();
+
+						final Entry<Value, Stream<Statement>> entry=
+								tagged && !lang.isEmpty() && value instanceof JsonString
+										? literal((JsonString)value, lang)
+										: value(value, nested);
+
+						if ( value instanceof JsonObject && keywords(value.asJsonObject()).containsKey("@id") ) {
+
+							identified.merge(entry.getKey(), entry.getValue(), Stream::concat);
+
+						} else {
+
+							final Optional<Trace> trace=check(field, Stream.of(entry), model, checker);
+
+							if ( trace.isPresent() ) { return Either.Left(trace.get()); }
+
+						}
+					}
+
+					final Optional<Trace> trace=check(field, identified.entrySet().stream(), model, checker);
+
+					if ( trace.isPresent() ) { return Either.Left(trace.get()); }
+
+				} else {
+
+					final Optional<Trace> trace=check(field, values(parser.getValue(), nested), model, checker);
+
+					if ( trace.isPresent() ) { return Either.Left(trace.get()); }
+
+				}
+
+			}
+
+		}
+
+		return Either.Right(model);
+	}
+
+	private void skip(final JsonParser parser, final Event event) {
+		if ( event == Event.START_OBJECT ) {
+			parser.skipObject();
+		} else if ( event == Event.START_ARRAY ) {
+			parser.skipArray();
+		}
+	}
+
+	private Optional<Trace> check(
+			final Field field, final Stream<Entry<Value, Stream<Statement>>> values,
+			final Collection<Statement> model,
+			final BiFunction<Field, Entry<Value, Collection<Statement>>, Optional<Trace>> checker
+	) {
+		return values
+
+				.map(pair -> {
+
+					final Value target=pair.getKey();
+					final Collection<Statement> statements=new ArrayList<>();
+
+					statements.add(traverse(field.iri(),
+
+							iri -> statement(focus, iri, target),
+
+							iri -> target instanceof Resource
+									? statement((Resource)target, iri, focus)
+									: error("target for inverse property is not a resource <%s: %s>", field.label(), pair)
+
+					));
+
+					pair.getValue().forEachOrdered(statements::add);
+
+					final Optional<Trace> trace=checker.apply(field, entry(target, statements));
+
+					if ( !trace.isPresent() ) { model.addAll(statements); }
+
+					return trace.map(t -> trace(field.iri().stringValue(), t));
+
+				})
+
+				.filter(Optional::isPresent)
+				.findFirst()
+				.orElseGet(Optional::empty);
+	}
+
+
 	Stream<Entry<Value, Stream<Statement>>> values(final JsonValue value, final Shape shape) {
 
 		final boolean tagged=JSONLDInspector.tagged(shape);
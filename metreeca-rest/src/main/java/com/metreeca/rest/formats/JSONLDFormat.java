@@ -26,9 +26,12 @@ import org.eclipse.rdf4j.model.Statement;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
 
 import javax.json.*;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
 
 import static com.metreeca.json.Trace.trace;
 import static com.metreeca.json.Values.format;
@@ -41,10 +44,13 @@ import static com.metreeca.rest.MessageException.status;
 import static com.metreeca.rest.Response.*;
 import static com.metreeca.rest.assets.Logger.logger;
 import static com.metreeca.rest.formats.InputFormat.input;
+import static com.metreeca.rest.formats.JSONLDScanner.check;
 import static com.metreeca.rest.formats.JSONLDScanner.scan;
 import static com.metreeca.rest.formats.OutputFormat.output;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 
@@ -92,7 +98,48 @@ public final class JSONLDFormat extends Format<Collection<Statement>> {
 		return Collections::emptyMap;
 	}
 
+	/**
+	 * Retrieves the default JSON-LD validation asset factory.
+	 *
+	 * <p>The validation asset defines the fraction of outgoing JSON-LD payloads to be validated against the message
+	 * {@linkplain #shape() shape} before encoding:</p>
+	 *
+	 * <ul>
+	 *
+	 * <li>{@code 1} or more validates all payloads, failing on shape violations;</li>
+	 *
+	 * <li>{@code 0} or less disables validation, e.g. in production environments;</li>
+	 *
+	 * <li>intermediate values validate a random sample of payloads of the given size, logging shape violations to
+	 * the {@linkplain com.metreeca.rest.assets.Logger#logger() shared event logger} without failing.</li>
+	 *
+	 * </ul>
+	 *
+	 * <p>Payloads of messages marked as {@linkplain #trusted() trusted} are never validated.</p>
+	 *
+	 * @return the default validation factory, which returns {@code 1}, that is validates all outgoing payloads
+	 */
+	public static Supplier<Double> validation() {
+		return () -> 1.0;
+	}
+
+	/**
+	 * Retrieves the default JSON-LD trusted message attribute factory.
+	 *
+	 * <p>The trusted attribute marks outgoing messages whose JSON-LD payload is known to match the message
+	 * {@linkplain #shape() shape}, for instance because it was generated by a shape-driven engine from the same
+	 * shape: trusted payloads are encoded skipping {@linkplain #validation() validation}.</p>
+	 *
+	 * @return the default trusted factory, which returns {@code false}
+	 */
+	public static Supplier<Boolean> trusted() {
+		return () -> false;
+	}
+
 
+	private static final List<String> MIMEs=asList(JSONFormat.MIME, MIME); // application/json by default
+
+	private static final JsonParserFactory JsonParsers=Json.createParserFactory(emptyMap());
 	private static final JsonWriterFactory JsonWriters=Json.createWriterFactory(singletonMap(PRETTY_PRINTING, true));
 
 
@@ -139,6 +186,40 @@ public final class JSONLDFormat extends Format<Collection<Statement>> {
 	}
 
 
+	/**
+	 * Rewrites a shape-based query to retrieve the next page of results.
+	 *
+	 * @param query  the query to be rewritten
+	 * @param cursor the opaque continuation cursor identifying the last item of the current page
+	 *
+	 * @return a version of {@code query} in the same syntax, seeking to the items following {@code cursor}
+	 *
+	 * @throws NullPointerException     if any parameter is null
+	 * @throws IllegalArgumentException if {@code query} is a malformed JSON query
+	 * @see com.metreeca.json.queries.Items#cursor(List)
+	 */
+	public static String next(final String query, final String cursor) {
+
+		if ( query == null ) {
+			throw new NullPointerException("null query");
+		}
+
+		if ( cursor == null ) {
+			throw new NullPointerException("null cursor");
+		}
+
+		try {
+
+			return JSONLDParser.next(query, cursor);
+
+		} catch ( final JsonException|ClassCastException e ) {
+
+			throw new IllegalArgumentException(format("malformed query <%s>", query), e);
+
+		}
+	}
+
+
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	private JSONLDFormat() {}
@@ -151,6 +232,9 @@ public final class JSONLDFormat extends Format<Collection<Statement>> {
 	 * {@link InputFormat} body, if one is available and the {@code message} {@code Content-Type} header is either
 	 * missing or  matched by {@link JSONFormat#MIMEPattern}
 	 *
+	 * <p>The body is decoded incrementally, validating each root field value against the {@code message}
+	 * {@linkplain JSONLDFormat#shape() shape} as soon as it's read and failing on the first shape violation.</p>
+	 *
 	 * <p><strong>Warning</strong> / Decoding is completely driven by the {@code message}
 	 * {@linkplain JSONLDFormat#shape() shape attribute}: embedded {@code @context} objects are ignored.</p>
 	 */
@@ -166,28 +250,36 @@ public final class JSONLDFormat extends Format<Collection<Statement>> {
 					try (
 							final InputStream input=source.get();
 							final Reader reader=new InputStreamReader(input, message.charset());
-							final JsonReader jsonReader=Json.createReader(reader)
+							final JsonParser jsonParser=JsonParsers.createParser(reader)
 					) {
 
 						final IRI focus=iri(message.item());
 						final Shape shape=message.attribute(shape());
 						final Map<String, String> keywords=asset(keywords());
 
-						final Collection<Statement> model=new JSONLDDecoder(
+						return new JSONLDDecoder(
 
 								focus,
 								shape,
 								keywords
 
-						).decode(jsonReader.readObject());
+						).decode(jsonParser, (field, value) -> // fail fast on invalid root field values
+
+								check(field.shape(), focus, value.getKey(), value.getValue())
+
+						).fold(
 
-						return scan(shape, focus, model).fold(
 								trace -> Left(status(UnprocessableEntity, trace.toJSON())),
-								value -> value.size() == model.size() ? Right(value) : Left(status(UnprocessableEntity,
-										trace(value.stream().filter(s -> !model.contains(s))
-												.map(s -> format("statement <%s> is out of shape envelop", format(s)))
-										).toJSON()
-								))
+
+								model -> scan(shape, focus, model).fold( // check set-level constraints and envelope
+										trace -> Left(status(UnprocessableEntity, trace.toJSON())),
+										value -> value.size() == model.size() ? Right(value) : Left(status(UnprocessableEntity,
+												trace(value.stream().filter(s -> !model.contains(s))
+														.map(s -> format("statement <%s> is out of shape envelop", format(s)))
+												).toJSON()
+										))
+								)
+
 						);
 
 					} catch ( final JsonException e ) {
@@ -231,13 +323,9 @@ public final class JSONLDFormat extends Format<Collection<Statement>> {
 
 				.header("Content-Type") // content-type explicitly defined by handler
 
-				.orElseGet(() -> mimes(message.request().header("Accept").orElse("")).stream()
-
-						// application/ld+json or application/json accepted?
+				// application/ld+json or application/json accepted? default to application/json
 
-						.filter(type -> type.equals(MIME) || type.equals(JSONFormat.MIME)).findFirst()
-
-						// default to application/json
+				.orElseGet(() -> negotiate(message.request().mimes(), MIMEs)
 
 						.orElse(JSONFormat.MIME)
 
@@ -259,13 +347,7 @@ public final class JSONLDFormat extends Format<Collection<Statement>> {
 						final Shape shape=message.attribute(shape());
 						final Map<String, String> keywords=asset(keywords());
 
-						final Collection<Statement> model=scan(shape, focus, value).fold(trace -> {
-
-							asset(logger()).error(this, format("invalid JSON-LD payload %s", trace.toJSON()));
-
-							throw new RuntimeException("invalid JSON-LD payload");
-
-						});
+						final Collection<Statement> model=validate(message, shape, focus, value);
 
 						jsonWriter.writeObject(new JSONLDEncoder(
 
@@ -292,4 +374,34 @@ public final class JSONLDFormat extends Format<Collection<Statement>> {
 				});
 	}
 
+
+	private Collection<Statement> validate(
+			final Message<?> message, final Shape shape, final IRI focus, final Collection<Statement> value
+	) {
+
+		final double validation=asset(validation());
+
+		final boolean skipped=message.attribute(trusted())
+				|| validation <= 0
+				|| validation < 1 && ThreadLocalRandom.current().nextDouble() >= validation;
+
+		return skipped ? value : scan(shape, focus, value).fold(trace -> {
+
+			if ( validation < 1 ) { // sampled validation > report only
+
+				asset(logger()).warning(this, format("invalid JSON-LD payload %s", trace.toJSON()));
+
+				return value;
+
+			} else {
+
+				asset(logger()).error(this, format("invalid JSON-LD payload %s", trace.toJSON()));
+
+				throw new RuntimeException("invalid JSON-LD payload");
+
+			}
+
+		});
+	}
+
 }
@@ -17,6 +17,8 @@
 package com.metreeca.rest.formats;
 
 import com.metreeca.json.*;
+import com.metreeca.json.queries.Facets;
+import com.metreeca.json.queries.Items;
 import com.metreeca.json.queries.Stats;
 import com.metreeca.json.queries.Terms;
 import com.metreeca.json.shapes.*;
@@ -43,11 +45,14 @@ import static com.metreeca.json.shapes.Field.labels;
 import static com.metreeca.json.shapes.Link.link;
 import static com.metreeca.rest.Request.search;
 import static com.metreeca.rest.Xtream.decode;
+import static com.metreeca.rest.Xtream.encode;
 import static com.metreeca.rest.formats.JSONLDInspector.driver;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
@@ -64,6 +69,51 @@ final class JSONLDParser {
 	private static final java.util.regex.Pattern StepPattern=java.util.regex.Pattern.compile("(?:^|\\.)(\\w+\\b)");
 
 
+	/**
+	 * Rewrites a query to retrieve the page following a continuation cursor.
+	 *
+	 * @param query  the query to be rewritten
+	 * @param cursor the continuation cursor for the next page
+	 *
+	 * @return a version of {@code query} including {@code cursor} as {@code .after} property and without {@code
+	 * .offset} properties, preserving the original JSON or form-based syntax
+	 */
+	static String next(final String query, final String cursor) {
+		if ( query.startsWith("%7B") || query.startsWith("{") ) {
+
+			final JsonObject json=Json.createReader(new StringReader(
+					query.startsWith("%7B") ? decode(query) : query
+			)).readObject();
+
+			return encode(Json.createObjectBuilder(json)
+					.remove(".offset")
+					.add(".after", cursor)
+					.build()
+					.toString()
+			);
+
+		} else {
+
+			return Stream.concat(
+
+					Arrays.stream(query.split("&"))
+							.filter(parameter -> !parameter.isEmpty())
+							.filter(parameter -> {
+
+								final String label=decode(parameter.split("=", 2)[0]);
+
+								return !label.equals(".offset") && !label.equals(".after");
+
+							}),
+
+					Stream.of(".after="+cursor)
+
+			).collect(joining("&"));
+
+		}
+	}
+
+
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	private final Shape shape;
@@ -107,19 +157,42 @@ final class JSONLDParser {
 
 		final Shape filter=filter(json);
 
-		final List<IRI> terms=terms(json);
-		final List<IRI> stats=stats(json);
+		final Map<String, List<IRI>> terms=terms(json);
+		final Map<String, List<IRI>> stats=stats(json);
 
 		final List<Order> order=order(json);
+		final List<Value> after=after(json);
 
 		final int offset=offset(json);
 		final int limit=limit(json);
 
+		if ( !after.isEmpty() && after.size() != order.size()+1 ) {
+			error(".after cursor doesn't match .order criteria");
+		}
+
 		final Shape filtered=and(baseline, Guard.filter(filter)); // filtering only >> don't include in results
 
-		return terms != null ? Terms.terms(filtered, terms, offset, limit)
-				: stats != null ? Stats.stats(filtered, stats, offset, limit)
-				: items(filtered, order, offset, limit);
+		if ( terms.size()+stats.size() > 1 ) {
+
+			final Map<String, Query> facets=new LinkedHashMap<>();
+
+			terms.forEach((label, path) -> facets.put(label, Terms.terms(filtered, path, offset, limit)));
+
+			stats.forEach((label, path) -> {
+				if ( facets.put(label, Stats.stats(filtered, path, offset, limit)) != null ) {
+					error(format("conflicting .terms/.stats path <%s>", label));
+				}
+			});
+
+			return Facets.facets(filtered, facets);
+
+		} else {
+
+			return !terms.isEmpty() ? Terms.terms(filtered, terms.values().iterator().next(), offset, limit)
+					: !stats.isEmpty() ? Stats.stats(filtered, stats.values().iterator().next(), offset, limit)
+					: new Items(filtered, emptyList(), order, after, offset, limit);
+
+		}
 	}
 
 
@@ -137,7 +210,7 @@ final class JSONLDParser {
 		final String key=field.getKey();
 		final List<String> values=field.getValue();
 
-		return key.equals(".terms") || key.equals(".stats") ? path(values)
+		return key.equals(".terms") || key.equals(".stats") || key.equals(".after") ? path(values)
 				: key.equals(".offset") || key.equals(".limit") ? integer(values)
 				: strings(values);
 
@@ -284,26 +357,37 @@ final class JSONLDParser {
 	}
 
 
-	private List<IRI> terms(final JsonObject query) {
+	private Map<String, List<IRI>> terms(final JsonObject query) {
 		return Optional.ofNullable(query.get(".terms"))
 
 				.filter(v -> !v.equals(NULL))
 
-				.map(v -> v instanceof JsonString ? (JsonString)v : error(".terms is not a string"))
-				.map(path -> path(path.getString(), shape))
+				.map(v -> v instanceof JsonString ? Stream.of(((JsonString)v).getString())
+						: v instanceof JsonArray ? ((JsonArray)v).stream().map(this::terms)
+						: this.<Stream<String>>error(".terms is neither a string nor an array of strings")
+				)
+
+				.<Map<String, List<IRI>>>map(paths -> paths.collect(toMap(
+						path -> path, path -> path(path, shape), (x, y) -> x, LinkedHashMap::new
+				)))
 
-				.orElse(null);
+				.orElseGet(Collections::emptyMap);
 	}
 
-	private List<IRI> stats(final JsonObject query) {
+	private String terms(final JsonValue path) {
+		return path instanceof JsonString ? ((JsonString)path).getString()
+				: error(".terms is neither a string nor an array of strings");
+	}
+
+	private Map<String, List<IRI>> stats(final JsonObject query) {
 		return Optional.ofNullable(query.get(".stats"))
 
 				.filter(v -> !v.equals(NULL))
 
 				.map(v -> v instanceof JsonString ? (JsonString)v : error(".stats is not a string"))
-				.map(path -> path(path.getString(), shape))
+				.map(path -> singletonMap(path.getString(), path(path.getString(), shape)))
 
-				.orElse(null);
+				.orElseGet(Collections::emptyMap);
 	}
 
 
@@ -347,6 +431,30 @@ final class JSONLDParser {
 	}
 
 
+	private List<Value> after(final JsonObject query) {
+		return Optional.ofNullable(query.get(".after"))
+
+				.filter(v -> !v.equals(NULL))
+
+				.map(v -> v instanceof JsonString ? (JsonString)v : error(".after is not a string"))
+				.map(cursor -> {
+
+					try {
+
+						return Items.cursor(cursor.getString());
+
+					} catch ( final IllegalArgumentException e ) {
+
+						return this.<List<Value>>error(".after is not a valid cursor");
+
+					}
+
+				})
+
+				.orElse(emptyList());
+	}
+
+
 	private int offset(final JsonObject query) {
 		return Optional.ofNullable(query.get(".offset"))
 
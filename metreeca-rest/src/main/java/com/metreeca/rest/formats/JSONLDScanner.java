@@ -34,6 +34,7 @@ import static com.metreeca.json.Values.is;
 import static com.metreeca.json.Values.lang;
 import static com.metreeca.json.Values.text;
 import static com.metreeca.json.Values.traverse;
+import static com.metreeca.json.shapes.And.and;
 import static com.metreeca.rest.Either.Left;
 import static com.metreeca.rest.Either.Right;
 import static com.metreeca.rest.formats.JSONLDInspector.driver;
@@ -57,6 +58,31 @@ final class JSONLDScanner extends Shape.Probe<Either<Trace, Stream<Statement>>>
 	}
 
 
+	/**
+	 * Checks a single value against a shape.
+	 *
+	 * <p>Only constraints that may be verified independently of other values in the same focus set are checked,
+	 * that is value-level constraints and nested fields; set-level constraints (e.g. value counts) and logical
+	 * alternatives are left to a final {@linkplain #scan(Shape, IRI, Collection) scan}.</p>
+	 *
+	 * @param shape the driver shape for {@code value}
+	 * @param focus the target IRI
+	 * @param value the value to be checked
+	 * @param model the description of {@code value}
+	 *
+	 * @return an optional trace reporting the shape violations for {@code value}, if any were identified; an empty
+	 * optional, otherwise
+	 */
+	static Optional<Trace> check(
+			final Shape shape, final IRI focus, final Value value, final Collection<Statement> model
+	) {
+		return shape
+				.map(new ValueProjector())
+				.map(new JSONLDScanner(focus, singleton(value), model))
+				.fold(Optional::of, stream -> Optional.empty());
+	}
+
+
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	private final IRI focus;
@@ -208,11 +234,7 @@ final class JSONLDScanner extends Shape.Probe<Either<Trace, Stream<Statement>>>
 
 	@Override public Either<Trace, Stream<Statement>> probe(final Pattern pattern) {
 
-		final String expression=pattern.expression();
-		final String flags=pattern.flags();
-
-		final java.util.regex.Pattern compiled=java.util.regex.Pattern
-				.compile(flags.isEmpty() ? expression : "(?"+flags+":"+expression+")");
+		final java.util.regex.Pattern compiled=pattern.toPattern();
 
 		// match the whole string: don't use compiled.asPredicate() (implemented using .find())
 
@@ -224,9 +246,7 @@ final class JSONLDScanner extends Shape.Probe<Either<Trace, Stream<Statement>>>
 
 	@Override public Either<Trace, Stream<Statement>> probe(final Like like) {
 
-		final String expression=like.toExpression();
-
-		final Predicate<String> predicate=java.util.regex.Pattern.compile(expression).asPredicate();
+		final Predicate<String> predicate=like.toPattern().asPredicate();
 
 		return report(trace(group.stream()
 				.filter(negate(value -> predicate.test(text(value))))
@@ -367,4 +387,50 @@ final class JSONLDScanner extends Shape.Probe<Either<Trace, Stream<Statement>>>
 		return Right(Stream.empty());
 	}
 
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Retains only constraints distributing over the values of a focus set.
+	 */
+	private static final class ValueProjector extends Shape.Probe<Shape> {
+
+		@Override public Shape probe(final Datatype datatype) { return datatype; }
+
+		@Override public Shape probe(final Range range) { return range; }
+
+		@Override public Shape probe(final Lang lang) { return lang; }
+
+
+		@Override public Shape probe(final MinExclusive minExclusive) { return minExclusive; }
+
+		@Override public Shape probe(final MaxExclusive maxExclusive) { return maxExclusive; }
+
+		@Override public Shape probe(final MinInclusive minInclusive) { return minInclusive; }
+
+		@Override public Shape probe(final MaxInclusive maxInclusive) { return maxInclusive; }
+
+
+		@Override public Shape probe(final MinLength minLength) { return minLength; }
+
+		@Override public Shape probe(final MaxLength maxLength) { return maxLength; }
+
+		@Override public Shape probe(final Pattern pattern) { return pattern; }
+
+		@Override public Shape probe(final Like like) { return like; }
+
+		@Override public Shape probe(final Stem stem) { return stem; }
+
+
+		@Override public Shape probe(final Link link) { return link.shape().map(this); }
+
+		@Override public Shape probe(final Field field) { return field; }
+
+		@Override public Shape probe(final And and) { return and(and.shapes().stream().map(this)); }
+
+
+		@Override public Shape probe(final Shape shape) { return and(); }
+
+	}
+
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.rest.handlers;
+
+import com.metreeca.rest.*;
+import com.metreeca.rest.assets.Metrics;
+import com.metreeca.rest.formats.JSONFormat;
+import com.metreeca.rest.formats.TextFormat;
+
+import java.util.List;
+
+import static com.metreeca.rest.Context.asset;
+import static com.metreeca.rest.Format.negotiate;
+import static com.metreeca.rest.Response.OK;
+import static com.metreeca.rest.assets.Metrics.metrics;
+import static com.metreeca.rest.formats.JSONFormat.json;
+import static com.metreeca.rest.formats.TextFormat.text;
+import static com.metreeca.rest.handlers.Router.router;
+
+import static java.util.Arrays.asList;
+
+
+/**
+ * Metrics monitor.
+ *
+ * <p>Exposes a snapshot of the shared {@linkplain Metrics metrics registry} in response to {@code GET} requests,
+ * either as a JSON object or, if {@value TextFormat#MIME} is preferred by the client, in Prometheus text format.</p>
+ */
+public final class Monitor extends Delegator {
+
+	private static final String PrometheusMIME="text/plain; version=0.0.4";
+
+	private static final List<String> MIMEs=asList(JSONFormat.MIME, TextFormat.MIME); // JSON by default
+
+
+	/**
+	 * Creates a metrics monitor.
+	 *
+	 * @return a new metrics monitor exposing the shared metrics registry
+	 */
+	public static Monitor monitor() {
+		return new Monitor();
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	private final Metrics metrics=asset(metrics());
+
+
+	private Monitor() {
+		delegate(router()
+
+				.get(this::snapshot)
+
+		);
+	}
+
+
+	private Future<Response> snapshot(final Request request) {
+		return request.reply(response -> negotiate(request.header("Accept").orElse(""), MIMEs)
+
+				.filter(TextFormat.MIME::equals)
+
+				.map(mime -> response.status(OK)
+						.header("Content-Type", PrometheusMIME)
+						.body(text(), metrics.prometheus())
+				)
+
+				.orElseGet(() -> response.status(OK)
+						.body(json(), metrics.json())
+				)
+		);
+	}
+
+}
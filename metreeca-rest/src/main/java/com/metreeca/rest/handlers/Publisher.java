@@ -18,16 +18,21 @@ package com.metreeca.rest.handlers;
 
 import com.metreeca.rest.*;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.io.*;
 import java.net.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.*;
-import java.util.Optional;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import static com.metreeca.json.Values.md5;
 import static com.metreeca.rest.Context.asset;
 import static com.metreeca.rest.MessageException.status;
 import static com.metreeca.rest.Request.HEAD;
@@ -37,14 +42,37 @@ import static com.metreeca.rest.handlers.Router.router;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toMap;
 
 /**
  * Static content publisher.
+ *
+ * <p>Serves regular files under a root path, supporting conditional ({@code If-None-Match}) and single byte range
+ * ({@code Range}/{@code If-Range}) requests; precompressed {@code <file>.br}/{@code <file>.gz} siblings are served in
+ * place of {@code <file>} if the matching coding is accepted by the client.</p>
  */
 public final class Publisher extends Delegator {
 
 	private static final Pattern URLPattern=Pattern.compile("(.*/)?(\\.|[^/#]*)?(#[^/#]*)?$");
 
+	private static final Pattern RangePattern=Pattern.compile("bytes=(\\d*)-(\\d*)");
+	private static final Pattern CodingPattern=Pattern.compile("\\s*([^;\\s]+)\\s*(?:;\\s*q\\s*=\\s*([.\\d]+))?.*");
+
+	private static final Map<String, String> Codings=codings(); // content coding > file extension
+
+
+	private static Map<String, String> codings() {
+
+		final Map<String, String> codings=new LinkedHashMap<>(); // in order of preference
+
+		codings.put("br", ".br");
+		codings.put("gzip", ".gz");
+
+		return unmodifiableMap(codings);
+	}
+
 
 	/**
 	 * Computes HTML variants of a URL.
@@ -173,8 +201,18 @@ public final class Publisher extends Delegator {
 
 	private String fallback="";
 
+	private Duration ttl; // null if metadata caching is disabled
+
+	private final Map<String, Asset> assets=new ConcurrentHashMap<>(); // request path > cached asset metadata
+	private Map<Path, Asset> preloaded; // normalized file path > preloaded asset; null if not preloaded
+
+	private final Path root;
+
 
 	private Publisher(final Path root) {
+
+		this.root=root;
+
 		delegate(router()
 
 				.head(request -> handle(request, root))
@@ -206,6 +244,102 @@ public final class Publisher extends Delegator {
 		return this;
 	}
 
+	/**
+	 * Configures file metadata caching.
+	 *
+	 * <p>If enabled, resolved file paths, sizes, timestamps and precompressed variants are cached and reused for
+	 * subsequent requests to the same path, without probing the filesystem again until the cached entry expires.</p>
+	 *
+	 * @param ttl the time-to-live for cached metadata; if {@link Duration#isZero() zero}, metadata will be retained
+	 *            indefinitely
+	 *
+	 * @return this publisher
+	 *
+	 * @throws NullPointerException     if {@code ttl} is null
+	 * @throws IllegalArgumentException if {@code ttl} is negative
+	 */
+	public Publisher cache(final Duration ttl) {
+
+		if ( ttl == null ) {
+			throw new NullPointerException("null ttl");
+		}
+
+		if ( ttl.isNegative() ) {
+			throw new IllegalArgumentException("negative ttl");
+		}
+
+		this.ttl=ttl;
+
+		assets.clear();
+
+		return this;
+	}
+
+	/**
+	 * Preloads published content.
+	 *
+	 * <p>Takes an immutable snapshot of the content tree, holding in memory files up to {@code limit} bytes, with
+	 * content-hash ETags: requests are then resolved and, for in-memory files, served without accessing the
+	 * filesystem. Intended for read-only roots, e.g. static assets packaged in the application {@code jar:}
+	 * file; supersedes metadata {@linkplain #cache(Duration) caching}.</p>
+	 *
+	 * @param limit the maximum size of files to be held in memory; larger files are served from the filesystem
+	 *
+	 * @return this publisher
+	 *
+	 * @throws IllegalArgumentException if {@code limit} is negative
+	 * @throws UncheckedIOException     if an I/O error occurs while loading content
+	 */
+	public Publisher preload(final int limit) {
+
+		if ( limit < 0 ) {
+			throw new IllegalArgumentException("negative limit");
+		}
+
+		try ( final Stream<Path> paths=Files.walk(root) ) {
+
+			final Set<Path> files=paths
+					.filter(Files::isRegularFile)
+					.map(Path::normalize)
+					.collect(toCollection(LinkedHashSet::new));
+
+			final Map<Path, Variant> variants=files.stream().collect(toMap(file -> file, function(file -> {
+
+				final long size=Files.size(file);
+
+				return size > limit ? variant(file, null) : variant(file, null, Files.readAllBytes(file));
+
+			})));
+
+			this.preloaded=unmodifiableMap(files.stream().collect(toMap(file -> file, file -> {
+
+				final List<Variant> encoded=new ArrayList<>();
+
+				for (final Map.Entry<String, String> coding : Codings.entrySet()) {
+
+					final Variant variant=variants.get(file.resolveSibling(file.getFileName()+coding.getValue()));
+
+					if ( variant != null ) {
+						encoded.add(variant.encoded(coding.getKey()));
+					}
+
+				}
+
+				encoded.add(variants.get(file));
+
+				return new Asset(Format.mime(file.getFileName().toString()), encoded, 0L);
+
+			})));
+
+			return this;
+
+		} catch ( final IOException e ) {
+
+			throw new UncheckedIOException(e);
+
+		}
+	}
+
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
@@ -224,40 +358,320 @@ public final class Publisher extends Delegator {
 	}
 
 	private Optional<Future<Response>> reply(final Request request, final Path root, final String path) {
-		return variants(path)
+		return lookup(root, path).map(asset -> request.reply(function(response -> {
+
+			final Variant variant=asset.variant(request);
+
+			final String etag=variant.etag;
+			final long length=variant.length;
+
+			response.header("Content-Type", asset.mime)
+					.header("Accept-Ranges", "bytes")
+					.header("ETag", etag);
+
+			if ( asset.variants.size() > 1 ) {
+				response.header("Vary", "Accept-Encoding");
+			}
+
+			if ( variant.coding != null ) {
+				response.header("Content-Encoding", variant.coding);
+			}
+
+			if ( request.headers("If-None-Match").stream().anyMatch(etag::equals) ) {
+				return response.status(NotModified);
+			}
+
+			final long[] range=request.headers("If-Range").stream().allMatch(etag::equals)
+					? range(request.header("Range").orElse(""), length)
+					: null;
+
+			if ( range != null && range.length == 0 ) {
+				return response.status(RangeNotSatisfiable)
+						.header("Content-Range", format("bytes */%d", length));
+			}
+
+			final long start=range == null ? 0 : range[0];
+			final long count=range == null ? length : range[1]-range[0]+1;
+
+			if ( range != null ) {
+				response.status(PartialContent)
+						.header("Content-Range", format("bytes %d-%d/%d", range[0], range[1], length));
+			} else {
+				response.status(OK);
+			}
+
+			return request.method().equals(HEAD) ? response : response
+					.header("Content-Length", String.valueOf(count))
+					.body(output(), consumer(output -> transfer(variant, start, count, output)));
+
+		})));
+	}
+
+
+	private Optional<Asset> lookup(final Path root, final String path) {
+
+		if ( ttl == null || preloaded != null ) { return lookup(root, path, 0L); } else {
+
+			final long now=System.nanoTime();
+			final Asset cached=assets.get(path);
+
+			if ( cached != null && (cached.expiry == 0L || now-cached.expiry < 0) ) {
+				return Optional.of(cached);
+			}
+
+			final Optional<Asset> asset=lookup(root, path, ttl.isZero() ? 0L : (now+ttl.toNanos()) | 1L);
+
+			if ( asset.isPresent() ) {
+				assets.put(path, asset.get());
+			} else {
+				assets.remove(path);
+			}
+
+			return asset;
+
+		}
+	}
+
+	private Optional<Asset> lookup(final Path root, final String path, final long expiry) {
+
+		final Stream<Path> files=variants(path)
 
 				.map(variant -> root.getRoot().relativize(root.getFileSystem().getPath(variant)))
 				.map(root::resolve)
-				.map(Path::normalize) // prevent tree walking attacks
+				.map(Path::normalize); // prevent tree walking attacks
+
+		final Map<Path, Asset> preloaded=this.preloaded;
+
+		return preloaded != null ? files.map(preloaded::get).filter(Objects::nonNull).findFirst() : files
 
 				.filter(Files::exists)
 				.filter(Files::isRegularFile)
 
 				.findFirst()
 
-				.map(file -> request.reply(function(response -> {
+				.map(function(file -> {
+
+					final List<Variant> variants=new ArrayList<>();
+
+					for (final Map.Entry<String, String> coding : Codings.entrySet()) {
 
-					final String mime=Format.mime(file.getFileName().toString());
-					final String length=String.valueOf(Files.size(file));
-					final String etag=format("\"%s\"", Files.getLastModifiedTime(file).toMillis());
+						final Path encoded=file.resolveSibling(file.getFileName()+coding.getValue());
 
-					return request.headers("If-None-Match").stream().anyMatch(etag::equals)
+						if ( Files.isRegularFile(encoded) ) {
+							variants.add(variant(encoded, coding.getKey()));
+						}
 
-							? response.status(NotModified)
+					}
 
-							: request.method().equals(HEAD)
+					variants.add(variant(file, null));
 
-							? response.status(OK)
-							.header("Content-Type", mime)
-							.header("ETag", etag)
+					return new Asset(Format.mime(file.getFileName().toString()), variants, expiry);
 
-							: response.status(OK)
-							.header("Content-Type", mime)
-							.header("Content-Length", length)
-							.header("ETag", etag)
-							.body(output(), consumer(output -> Files.copy(file, output)));
+				}));
+	}
+
+	private Variant variant(final Path file, final String coding) throws IOException {
+
+		final long length=Files.size(file);
+		final long modified=Files.getLastModifiedTime(file).toMillis();
+
+		final String etag=coding == null
+				? format("\"%d\"", modified)
+				: format("\"%d-%s\"", modified, coding);
+
+		return new Variant(file, coding, length, etag, null);
+	}
+
+	private Variant variant(final Path file, final String coding, final byte[] data) {
+		return new Variant(file, coding, data.length, format("\"%s\"", md5(data)), data);
+	}
+
+
+	/**
+	 * Parses a single byte range.
+	 *
+	 * @return the first and last byte positions of the requested range; an empty array if the range is not
+	 * satisfiable; {@code null} if the range is missing, malformed or includes multiple ranges
+	 */
+	private static long[] range(final String header, final long length) {
+
+		final Matcher matcher=RangePattern.matcher(header.trim());
+
+		if ( !matcher.matches() ) { return null; } else {
+
+			final String first=matcher.group(1);
+			final String last=matcher.group(2);
+
+			try {
+
+				if ( first.isEmpty() && last.isEmpty() ) { return null; } else if ( first.isEmpty() ) { // suffix range
+
+					final long suffix=Long.parseLong(last);
+
+					return suffix == 0 || length == 0 ? new long[0] : new long[]{ Math.max(0, length-suffix), length-1 };
+
+				} else {
+
+					final long start=Long.parseLong(first);
+					final long end=last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+
+					return end < start ? null
+							: start >= length ? new long[0]
+							: new long[]{ start, Math.min(end, length-1) };
+
+				}
+
+			} catch ( final NumberFormatException e ) {
+
+				return null;
+
+			}
+		}
+	}
+
+	private static void transfer(
+			final Variant variant, final long start, final long count, final OutputStream output
+	) throws IOException {
+
+		final Path file=variant.file;
+
+		if ( variant.data != null ) {
+
+			output.write(variant.data, (int)start, (int)count);
+
+		} else if ( file.getFileSystem().equals(FileSystems.getDefault()) ) {
+
+			try ( final FileChannel channel=FileChannel.open(file) ) {
+
+				final WritableByteChannel target=Channels.newChannel(output);
+
+				for (long position=start, end=start+count; position < end; ) {
+
+					final long transferred=channel.transferTo(position, end-position, target);
+
+					if ( transferred <= 0 && position >= channel.size() ) { break; } // truncated file
+
+					position+=transferred;
+				}
+
+			}
+
+		} else {
+
+			try ( final InputStream input=Files.newInputStream(file) ) {
+
+				for (long skipped=0; skipped < start; ) {
+
+					final long n=input.skip(start-skipped);
+
+					if ( n <= 0 ) { return; }
+
+					skipped+=n;
+				}
+
+				final byte[] buffer=new byte[8192];
+
+				for (long remaining=count; remaining > 0; ) {
+
+					final int n=input.read(buffer, 0, (int)Math.min(buffer.length, remaining));
+
+					if ( n < 0 ) { break; }
+
+					output.write(buffer, 0, n);
+
+					remaining-=n;
+				}
+
+			}
+
+		}
+	}
+
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	private static final class Asset {
+
+		private final String mime;
+		private final List<Variant> variants; // encoded variants in order of preference, then identity
+
+		private final long expiry; // System.nanoTime() deadline; 0 if not expiring
+
+
+		private Asset(final String mime, final List<Variant> variants, final long expiry) {
+			this.mime=mime;
+			this.variants=variants;
+			this.expiry=expiry;
+		}
+
+
+		private Variant variant(final Request request) {
+
+			if ( variants.size() > 1 ) {
+
+				final Map<String, Double> accepted=new HashMap<>();
+
+				for (final String header : request.headers("Accept-Encoding")) {
+					for (final String coding : header.split(",")) {
+
+						final Matcher matcher=CodingPattern.matcher(coding);
+
+						if ( matcher.matches() ) {
+							try {
+
+								accepted.put(
+										matcher.group(1).toLowerCase(Locale.ROOT),
+										matcher.group(2) == null ? 1.0 : Double.parseDouble(matcher.group(2))
+								);
+
+							} catch ( final NumberFormatException ignored ) {}
+						}
+
+					}
+				}
+
+				for (final Variant variant : variants) {
+					if ( variant.coding != null
+							&& accepted.getOrDefault(variant.coding, accepted.getOrDefault("*", 0.0)) > 0 ) {
+						return variant;
+					}
+				}
+
+			}
+
+			return variants.get(variants.size()-1);
+		}
+
+	}
+
+	private static final class Variant {
+
+		private final Path file;
+		private final String coding; // null for identity
+
+		private final long length;
+		private final String etag;
+
+		private final byte[] data; // preloaded content; null if served from file
+
+
+		private Variant(
+				final Path file, final String coding, final long length, final String etag, final byte[] data
+		) {
+			this.file=file;
+			this.coding=coding;
+			this.length=length;
+			this.etag=etag;
+			this.data=data;
+		}
+
+
+		private Variant encoded(final String coding) {
+			return new Variant(file, coding, length,
+					data != null ? etag : etag.substring(0, etag.length()-1)+"-"+coding+"\"", data
+			);
+		}
 
-				})));
 	}
 
 
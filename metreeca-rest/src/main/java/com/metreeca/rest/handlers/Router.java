@@ -23,7 +23,6 @@ import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.*;
-import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -67,7 +66,8 @@ import static java.util.Collections.emptyList;
  *
  *          </ul>
  *
- *          <p>Registered path patterns are tested in order of definition.</p>
+ *          <p>Registered path patterns are compiled into a step trie and, if multiple patterns match a request
+ *          path, the first one in order of definition is selected.</p>
  *
  *     </dd>
  *
@@ -111,7 +111,9 @@ public final class Router implements Handler {
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-	private final Map<String, Function<Request, Optional<Future<Response>>>> routes=new LinkedHashMap<>();
+	private final Set<String> paths=new HashSet<>();
+	private final Node routes=new Node();
+
 	private final Map<String, Handler> methods=new LinkedHashMap<>();
 
 
@@ -151,16 +153,18 @@ public final class Router implements Handler {
 		final String prefix=matcher.group("prefix");
 		final String suffix=matcher.group("suffix");
 
-		final Function<Request, Optional<Future<Response>>> route=route(
+		final Route route=route(
 				prefix == null ? "" : prefix,
-				suffix == null ? "" : suffix,
+				suffix != null,
 				handler
 		);
 
-		if ( routes.putIfAbsent(path, route) != null ) {
+		if ( !paths.add(path) ) {
 			throw new IllegalStateException("path already mapped <"+path+">");
 		}
 
+		routes.insert(route, 0);
+
 		return this;
 	}
 
@@ -299,80 +303,52 @@ public final class Router implements Handler {
 			throw new NullPointerException("null request");
 		}
 
-		return routes.values().stream()
-
-				.map(route -> route.apply(request))
+		final String head=request.attribute(RoutingPrefix);
+		final String tail=request.path().substring(head.length());
 
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.findFirst()
+		final String[] steps=steps(tail);
+		final Route route=steps == null ? null : routes.match(steps, 0, null);
 
-				.orElseGet(() -> (
+		return route != null ? route.handle(request, head, tail, steps) : (
 
-						methods.isEmpty() ? status(NotFound)
-								: methods.getOrDefault(request.method(), this::options)
+				methods.isEmpty() ? status(NotFound)
+						: methods.getOrDefault(request.method(), this::options)
 
-				).handle(request));
+		).handle(request);
 	}
 
 
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-	private Function<Request, Optional<Future<Response>>> route(
-			final String prefix, final String suffix, final Handler handler
-	) {
-
-		final Collection<String> keys=new LinkedHashSet<>();
-
-		final Matcher scanner=KeyPattern.matcher(prefix.isEmpty() ? "" : Pattern.quote(prefix));
-
-		final StringBuffer buffer=new StringBuffer(2*(prefix.length()+suffix.length())).append("(");
-
-		while ( scanner.find() ) { // collect placeholder keys and replace with wildcard step patterns
-
-			final String key=scanner.group("key");
-
-			if ( !key.isEmpty() && !keys.add(key) ) {
-				throw new IllegalArgumentException("repeated placeholder key <"+key+">");
-			}
-
-			scanner.appendReplacement(buffer, key.isEmpty()
-					? "\\\\E[^/]*\\\\Q"
-					: "\\\\E(?<${key}>[^/]*)\\\\Q"
-			);
-
-		}
-
-		scanner.appendTail(buffer).append(suffix.isEmpty() ? ")" : ")(/.*)");
+	private Route route(final String prefix, final boolean wildcard, final Handler handler) {
 
-		final Pattern pattern=Pattern.compile(buffer.toString());
+		final String[] steps=prefix.isEmpty() ? new String[0] : prefix.substring(1).split("/", -1);
+		final String[] keys=new String[steps.length];
 
-		return request -> {
+		final Collection<String> unique=new HashSet<>();
 
-			final String head=request.attribute(RoutingPrefix);
-			final String tail=request.path().substring(head.length());
+		for (int i=0; i < steps.length; ++i) {
 
-			return Optional.of(pattern.matcher(tail))
+			final Matcher matcher=KeyPattern.matcher(steps[i]);
 
-					.filter(Matcher::matches)
+			if ( matcher.matches() ) {
 
-					.map(matcher -> {
+				final String key=matcher.group("key");
 
-						keys.forEach(key -> {
-							try {
-								request.parameter(key, URLDecoder.decode(matcher.group(key), "UTF-8"));
-							} catch ( final UnsupportedEncodingException unexpected ) {
-								throw new UncheckedIOException(unexpected);
-							}
-						});
+				if ( !key.isEmpty() && !unique.add(key) ) {
+					throw new IllegalArgumentException("repeated placeholder key <"+key+">");
+				}
 
-						return request.attribute(RoutingPrefix, head+matcher.group(1));
+				keys[i]=key;
+			}
 
-					})
+		}
 
-					.map(handler::handle);
+		return new Route(paths.size(), steps, keys, wildcard, handler);
+	}
 
-		};
+	private String[] steps(final String tail) {
+		return tail.startsWith("/") ? tail.substring(1).split("/", -1) : null;
 	}
 
 
@@ -391,4 +367,121 @@ public final class Router implements Handler {
 		);
 	}
 
+
+	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Route trie node.
+	 *
+	 * <p>Routes are indexed by path steps, with literal steps stored as keyed edges and placeholder/wildcard steps
+	 * as a shared edge; candidate routes are compared by definition order.</p>
+	 */
+	private static final class Node {
+
+		private final Map<String, Node> literals=new HashMap<>();
+		private Node placeholder;
+
+		private Route exact; // first route ending at this node
+		private Route prefix; // first prefix route ending at this node
+
+
+		private void insert(final Route route, final int step) {
+			if ( step == route.steps.length ) {
+
+				if ( route.wildcard ) {
+					if ( prefix == null ) { prefix=route; }
+				} else {
+					if ( exact == null ) { exact=route; }
+				}
+
+			} else if ( route.keys[step] != null ) {
+
+				if ( placeholder == null ) { placeholder=new Node(); }
+
+				placeholder.insert(route, step+1);
+
+			} else {
+
+				literals.computeIfAbsent(route.steps[step], key -> new Node()).insert(route, step+1);
+
+			}
+		}
+
+		private Route match(final String[] steps, final int step, final Route best) {
+
+			Route match=best;
+
+			if ( prefix != null && step < steps.length ) {
+				match=first(match, prefix);
+			}
+
+			if ( step == steps.length ) {
+				match=first(match, exact);
+			} else {
+
+				final Node literal=literals.get(steps[step]);
+
+				if ( literal != null ) { match=literal.match(steps, step+1, match); }
+				if ( placeholder != null ) { match=placeholder.match(steps, step+1, match); }
+
+			}
+
+			return match;
+		}
+
+		private Route first(final Route x, final Route y) {
+			return x == null ? y : y == null ? x : x.index <= y.index ? x : y;
+		}
+
+	}
+
+	private static final class Route {
+
+		private final int index; // definition order
+
+		private final String[] steps;
+		private final String[] keys; // placeholder keys by step or null for literal steps
+		private final boolean wildcard;
+
+		private final Handler handler;
+
+
+		private Route(
+				final int index, final String[] steps, final String[] keys, final boolean wildcard,
+				final Handler handler
+		) {
+			this.index=index;
+			this.steps=steps;
+			this.keys=keys;
+			this.wildcard=wildcard;
+			this.handler=handler;
+		}
+
+
+		private Future<Response> handle(
+				final Request request, final String head, final String tail, final String[] steps
+		) {
+
+			int offset=0;
+
+			for (int i=0; i < this.steps.length; ++i) {
+
+				final String key=keys[i];
+
+				if ( key != null && !key.isEmpty() ) {
+					try {
+						request.parameter(key, URLDecoder.decode(steps[i], "UTF-8"));
+					} catch ( final UnsupportedEncodingException unexpected ) {
+						throw new UncheckedIOException(unexpected);
+					}
+				}
+
+				offset+=1+steps[i].length();
+			}
+
+			return handler.handle(request.attribute(RoutingPrefix, head+tail.substring(0, offset)));
+		}
+
+	}
+
 }
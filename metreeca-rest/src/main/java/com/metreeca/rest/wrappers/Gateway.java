@@ -18,6 +18,7 @@ package com.metreeca.rest.wrappers;
 
 import com.metreeca.rest.*;
 import com.metreeca.rest.assets.Logger;
+import com.metreeca.rest.assets.Metrics;
 import com.metreeca.rest.formats.JSONFormat;
 import com.metreeca.rest.formats.TextFormat;
 
@@ -29,6 +30,7 @@ import static com.metreeca.rest.Request.*;
 import static com.metreeca.rest.Response.InternalServerError;
 import static com.metreeca.rest.assets.Logger.Level.*;
 import static com.metreeca.rest.assets.Logger.logger;
+import static com.metreeca.rest.assets.Metrics.metrics;
 import static com.metreeca.rest.formats.TextFormat.text;
 
 import static java.lang.String.format;
@@ -60,6 +62,7 @@ public final class Gateway implements Wrapper {
 	////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	private final Logger logger=asset(logger());
+	private final Metrics metrics=asset(metrics());
 
 	private Gateway() {}
 
@@ -73,6 +76,9 @@ public final class Gateway implements Wrapper {
 		}
 
 		return request -> consumer -> {
+
+			final long start=System.nanoTime();
+
 			try {
 
 				request
@@ -82,7 +88,7 @@ public final class Gateway implements Wrapper {
 
 						.map(handler::handle)
 
-						.map(this::logging)
+						.map(response -> logging(response, start))
 						.map(this::charset)
 
 						.accept(response -> {
@@ -106,7 +112,7 @@ public final class Gateway implements Wrapper {
 
 						.reply(status(InternalServerError, e))
 
-						.map(this::logging)
+						.map(response -> logging(response, start))
 
 						.accept(consumer);
 
@@ -134,7 +140,10 @@ public final class Gateway implements Wrapper {
 
 	//// Post-Processing //////////////////////////////////////////////////////////////////////////////////////////////
 
-	private Response logging(final Response response) { // log request outcome
+	private Response logging(final Response response, final long start) { // log request outcome and timing
+
+		metrics.timer("Gateway.handle").record(System.nanoTime()-start);
+		metrics.counter(format("Gateway.%dxx", response.status()/100)).increment();
 
 		final Request request=response.request();
 		final String method=request.method();
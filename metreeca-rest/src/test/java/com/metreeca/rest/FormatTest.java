@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 
 import static com.metreeca.rest.Format.mime;
 import static com.metreeca.rest.Format.mimes;
+import static com.metreeca.rest.Format.negotiate;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -104,6 +105,45 @@ final class FormatTest {
 
 		}
 
+		@Test void testCacheParsedValues() {
+			assertThat(mimes("text/turtle, text/plain"))
+					.isSameAs(mimes(new StringBuilder("text/turtle, text/plain")));
+		}
+
+	}
+
+	@Nested final class Negotiation {
+
+		@Test void testPreferAcceptedOrder() {
+			assertThat(negotiate("text/plain;q=0.5, text/turtle", asList("text/plain", "text/turtle")))
+					.hasValue("text/turtle");
+		}
+
+		@Test void testMatchWildcards() {
+
+			assertThat(negotiate("*/*", asList("text/plain", "text/turtle")))
+					.hasValue("text/plain");
+
+			assertThat(negotiate("image/*, text/*;q=0.5", asList("application/json", "text/turtle")))
+					.hasValue("text/turtle");
+
+		}
+
+		@Test void testPreferExplicitTypesToWildcards() {
+
+			assertThat(negotiate("application/ld+json;q=0.5, */*", asList("application/json", "application/ld+json")))
+					.hasValue("application/ld+json");
+
+			assertThat(negotiate("text/*, */*;q=0.5", asList("application/json", "text/turtle")))
+					.hasValue("text/turtle");
+
+		}
+
+		@Test void testReportUnsupportedTypes() {
+			assertThat(negotiate("text/csv", asList("text/plain", "text/turtle")))
+					.isEmpty();
+		}
+
 	}
 
-}
\ No newline at end of file
+}
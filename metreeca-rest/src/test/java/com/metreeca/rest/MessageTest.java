@@ -84,31 +84,31 @@ final class MessageTest {
 
 		}
 
-		//@Test void testHeadersAppendsValues() {
-		//
-		//	final MessageMock message=new MessageMock()
-		//			.header("+test-header", "one")
-		//			.header("+test-header", "two");
-		//
-		//	assertEquals(list("one", "two"), list(message.headers("test-header")));
-		//}
-		//
-		//@Test void testHeadersAppendsCookies() {
-		//
-		//	final MessageMock message=new MessageMock()
-		//			.header("set-cookie", "one")
-		//			.header("set-cookie", "two");
-		//
-		//	assertEquals(list("one", "two"), list(message.headers("set-cookie")));
-		//}
-		//
-		//@Test void testHeadersIgnoresEmptyAndDuplicateValues() {
-		//
-		//	final MessageMock message=new MessageMock()
-		//			.headers("test-header", "one", "two", "", "two");
-		//
-		//	assertEquals(list("one", "two"), list(message.headers("test-header")));
-		//}
+		@Test void testHeadersAppendsValues() {
+
+			final Message<?> message=message()
+					.header("+test-header", "one")
+					.header("+test-header", "two");
+
+			assertThat(message.headers("test-header")).containsExactly("one", "two");
+		}
+
+		@Test void testHeadersAppendsCookies() {
+
+			final Message<?> message=message()
+					.header("Set-Cookie", "one")
+					.header("set-cookie", "two");
+
+			assertThat(message.headers("set-cookie")).containsExactly("one", "two");
+		}
+
+		@Test void testHeadersIgnoresEmptyAndDuplicateValues() {
+
+			final Message<?> message=message()
+					.headers("test-header", "one", "two", "", "two");
+
+			assertThat(message.headers("test-header")).containsExactly("one", "two");
+		}
 
 	}
 
@@ -45,6 +45,25 @@ final class RequestTest {
 
 	}
 
+	@Test void testCacheParsedHeaders() {
+
+		final Request request=new Request().header("Accept", "text/plain;q=0.5, text/turtle");
+
+		assertThat(request.mimes())
+				.containsExactly("text/turtle", "text/plain")
+				.isSameAs(request.mimes());
+
+		request.header("Accept", "text/csv");
+
+		assertThat(request.mimes())
+				.as("updated after header changes")
+				.containsExactly("text/csv");
+
+		assertThat(request.langs())
+				.isEmpty();
+
+	}
+
 	@Test void testRoute() {
 
 		assertThat(new Request().method(GET).path("/path/file.ext").route()).isFalse();
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 
 import static com.metreeca.json.Values.iri;
 import static com.metreeca.rest.Scribe.code;
+import static com.metreeca.rest.Scribe.compact;
 import static com.metreeca.rest.Scribe.text;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -119,4 +120,46 @@ final class ScribeTest {
 
 	}
 
+	@Nested final class Compacting {
+
+		private String format(final CharSequence text) {
+			return compact(text(text));
+		}
+
+
+		@Test void testCollapseLineBreaks() {
+			assertThat(format("x\fy")).isEqualTo("x\ny");
+			assertThat(format("x\n\f\r \ny")).isEqualTo("x\ny");
+		}
+
+		@Test void testCollapseSpaces() {
+			assertThat(format("x\ry")).isEqualTo("x y");
+			assertThat(format("x \r  \ry")).isEqualTo("x y");
+		}
+
+		@Test void testIgnoreLeadingAndTrailingWhitespace() {
+			assertThat(format("\f \n\r{}")).isEqualTo("{}");
+			assertThat(format("{} \f\n\r")).isEqualTo("{}");
+		}
+
+		@Test void testStripWhitespaceInsidePairs() {
+			assertThat(format("( x )")).isEqualTo("(x)");
+			assertThat(format("[ x ]")).isEqualTo("[x]");
+			assertThat(format("{ x }")).isEqualTo("{ x }");
+		}
+
+		@Test void testIgnoreIndentation() {
+			assertThat(format("{\f\t{\nx\n}\b\f}")).isEqualTo("{\n{\nx\n}\n}");
+		}
+
+		@Test void testMatchFormattedTokens() {
+
+			final String code="\rwhere {\f{\rselect {\f(x)\f} limit 10 }\f}";
+
+			assertThat(compact(text(code)).split("\\s+"))
+					.containsExactly(code(text(code)).trim().split("\\s+"));
+		}
+
+	}
+
 }
\ No newline at end of file
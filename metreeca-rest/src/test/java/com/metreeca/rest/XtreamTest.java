@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.rest;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+final class XtreamTest {
+
+	@Nested final class Async {
+
+		private <V> V exec(final Function<ExecutorService, V> task) {
+
+			final ExecutorService executor=Executors.newFixedThreadPool(4);
+
+			try {
+				return task.apply(executor);
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+
+
+		@Test void testPreserveOrder() {
+			assertThat(this.<List<Integer>>exec(executor -> Xtream.of(5, 4, 3, 2, 1)
+
+					.async(executor, 3, n -> {
+						try {
+							Thread.sleep(n*10L);
+						} catch ( final InterruptedException ignored ) {}
+						return n*2;
+					})
+
+					.collect(toList())
+
+			)).containsExactly(10, 8, 6, 4, 2);
+		}
+
+		@Test void testCompleteUnordered() {
+
+			final Map<Integer, CountDownLatch> gates=new ConcurrentHashMap<>(); // n completes after n-1 is consumed
+
+			for (int n=1; n <= 5; ++n) { gates.put(n, new CountDownLatch(n == 1 ? 0 : 1)); }
+
+			assertThat(this.<List<Integer>>exec(executor -> Xtream.of(4, 3, 2, 1)
+
+					.async(executor, 4, false, n -> {
+						try {
+
+							if ( !gates.get(n).await(10, TimeUnit.SECONDS) ) {
+								throw new IllegalStateException("unreleased gate "+n);
+							}
+
+						} catch ( final InterruptedException e ) {
+							throw new RuntimeException(e);
+						}
+						return n;
+					})
+
+					.peek(n -> gates.get(n+1).countDown())
+
+					.collect(toList())
+
+			)).containsExactly(1, 2, 3, 4);
+		}
+
+		@Test void testBoundConcurrency() {
+
+			final AtomicInteger running=new AtomicInteger();
+			final AtomicInteger peak=new AtomicInteger();
+
+			exec(executor -> Xtream.of(1, 2, 3, 4, 5, 6, 7, 8)
+
+					.async(executor, 2, n -> {
+						try {
+
+							peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+							Thread.sleep(10L);
+
+							return n;
+
+						} catch ( final InterruptedException e ) {
+							throw new RuntimeException(e);
+						} finally {
+							running.decrementAndGet();
+						}
+					})
+
+					.count()
+			);
+
+			assertThat(peak.get()).isBetween(1, 2);
+		}
+
+		@Test void testRethrowMapperExceptions() {
+			assertThatThrownBy(() -> exec(executor -> Xtream.of(1, 2, 3)
+
+					.async(executor, 2, n -> {
+
+						if ( n == 2 ) { throw new IllegalStateException("failed"); }
+
+						return n;
+
+					})
+
+					.count()
+
+			)).isInstanceOf(IllegalStateException.class);
+		}
+
+		@Test void testPropagateContext() {
+
+			final Context context=new Context();
+			final Supplier<Object> asset=Object::new;
+
+			final Object expected=context.get(asset);
+
+			final Object[] actual=new Object[1];
+
+			context.exec(() -> actual[0]=exec(executor -> Xtream.of(asset)
+
+					.async(executor, 1, Context::asset)
+
+					.findFirst()
+					.orElse(null)
+			));
+
+			assertThat(actual[0]).isSameAs(expected);
+		}
+
+	}
+
+}
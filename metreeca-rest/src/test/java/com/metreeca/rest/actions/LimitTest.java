@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.rest.actions;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+final class LimitTest {
+
+	@Test void testIgnoreEmptyLimits() {
+
+		final Limit<String> limit=new Limit<>(0);
+
+		assertThat(limit.tryAcquire("a")).isTrue();
+		assertThat(limit.tryAcquire("b")).isTrue();
+		assertThat(limit.apply("c")).isEqualTo("c");
+
+		assertThat(limit.delayed()).isZero();
+	}
+
+	@Test void testAcceptBursts() {
+
+		final Limit<String> limit=new Limit<String>(1, Duration.ofHours(1)).burst(3);
+
+		assertThat(limit.tryAcquire("a")).isTrue();
+		assertThat(limit.tryAcquire("b")).isTrue();
+		assertThat(limit.tryAcquire("c")).isTrue();
+		assertThat(limit.tryAcquire("d")).isFalse();
+
+		assertThat(limit.events()).isEqualTo(3);
+	}
+
+	@Test void testDelayEventsExceedingLimits() {
+
+		final Limit<String> limit=new Limit<>(1, Duration.ofMillis(50));
+
+		final long start=System.nanoTime();
+
+		limit.apply("a");
+		limit.apply("b");
+
+		assertThat(Duration.ofNanos(System.nanoTime()-start)).isGreaterThanOrEqualTo(Duration.ofMillis(45));
+
+		assertThat(limit.events()).isEqualTo(2);
+		assertThat(limit.delayed()).isEqualTo(1);
+		assertThat(limit.delay()).isPositive();
+	}
+
+	@Test void testPartitionBucketsByKey() {
+
+		final Limit<String> limit=new Limit<String>(1, Duration.ofHours(1)).key(event -> event.substring(0, 1));
+
+		assertThat(limit.tryAcquire("x1")).isTrue();
+		assertThat(limit.tryAcquire("y1")).isTrue();
+		assertThat(limit.tryAcquire("x2")).isFalse();
+		assertThat(limit.tryAcquire("y2")).isFalse();
+	}
+
+	@Test void testEvictIdleBuckets() throws InterruptedException {
+
+		final Limit<String> limit=new Limit<String>(1, Duration.ofMillis(20)).key(event -> event.substring(0, 1));
+
+		assertThat(limit.tryAcquire("x1")).isTrue();
+		assertThat(limit.tryAcquire("y1")).isTrue();
+
+		assertThat(limit.buckets()).isEqualTo(2);
+
+		Thread.sleep(150);
+
+		assertThat(limit.tryAcquire("z1")).isTrue();
+
+		assertThat(limit.buckets()).isEqualTo(1);
+	}
+
+	@Test void testCompleteAsyncAcquisitions() {
+
+		final Limit<String> limit=new Limit<>(1, Duration.ofMillis(50));
+
+		final CompletableFuture<String> a=limit.async("a");
+		final CompletableFuture<String> b=limit.async("b");
+
+		assertThat(a).isCompletedWithValue("a");
+		assertThat(b).isNotDone();
+
+		assertThat(b.join()).isEqualTo("b");
+	}
+
+}
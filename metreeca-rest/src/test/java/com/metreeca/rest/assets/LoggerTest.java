@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.rest.assets;
+
+import com.metreeca.rest.assets.Logger.AsyncLogger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import static java.util.stream.Collectors.toList;
+
+final class LoggerTest {
+
+	@Nested final class Async {
+
+		private final String name=LoggerTest.class.getName()+".Async";
+
+		private final List<String> messages=new CopyOnWriteArrayList<>();
+
+
+		private java.util.logging.Logger backend() {
+
+			final java.util.logging.Logger backend=java.util.logging.Logger.getLogger(name);
+
+			backend.setUseParentHandlers(false);
+			backend.setLevel(java.util.logging.Level.INFO);
+
+			for (final Handler handler : backend.getHandlers()) { backend.removeHandler(handler); }
+
+			backend.addHandler(new Handler() {
+
+				@Override public void publish(final LogRecord record) { messages.add(record.getMessage()); }
+
+				@Override public void flush() { }
+
+				@Override public void close() { }
+
+			});
+
+			return backend;
+		}
+
+
+		@Test void testDeliverEntriesInOrder() {
+
+			final java.util.logging.Logger backend=backend();
+
+			try ( final AsyncLogger logger=new AsyncLogger(4).drop(false) ) {
+				for (int i=0; i < 100; ++i) {
+					logger.info(name, String.valueOf(i));
+				}
+			}
+
+			assertThat(messages).hasSize(100).startsWith("0", "1", "2").endsWith("98", "99");
+			assertThat(backend.getName()).isEqualTo(name);
+		}
+
+		@Test void testSkipDisabledEntries() {
+
+			backend();
+
+			try ( final AsyncLogger logger=new AsyncLogger() ) {
+				logger.debug(name, () -> fail("evaluated disabled entry"));
+			}
+
+			assertThat(messages).isEmpty();
+		}
+
+		@Test void testCountEntriesAfterClose() {
+
+			backend();
+
+			final AsyncLogger logger=new AsyncLogger(1);
+
+			logger.close();
+			logger.info(name, "ignored");
+
+			assertThat(messages).isEmpty();
+			assertThat(logger.dropped()).isEqualTo(1);
+		}
+
+		@Test void testAccountForEntriesRacingWithClose() throws InterruptedException {
+
+			backend();
+
+			final int producers=4;
+			final int entries=1_000;
+
+			final AsyncLogger logger=new AsyncLogger(16);
+			final CountDownLatch started=new CountDownLatch(producers);
+
+			final List<Thread> threads=IntStream.range(0, producers).mapToObj(p -> new Thread(() -> {
+
+				started.countDown();
+
+				for (int i=0; i < entries; ++i) { logger.info(name, "entry"); }
+
+			})).collect(toList());
+
+			threads.forEach(Thread::start);
+
+			started.await();
+			logger.close();
+
+			for (final Thread thread : threads) { thread.join(); }
+
+			assertThat(messages.size()+logger.dropped())
+					.as("entries either written or counted as dropped")
+					.isEqualTo(producers*entries);
+		}
+
+	}
+
+}
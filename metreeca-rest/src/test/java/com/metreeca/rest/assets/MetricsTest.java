@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2013-2021 Metreeca srl
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.metreeca.rest.assets;
+
+import com.metreeca.rest.assets.Metrics.Timer;
+
+import org.junit.jupiter.api.Test;
+
+import javax.json.JsonObject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+final class MetricsTest {
+
+	@Test void testCountEvents() {
+
+		final Metrics metrics=new Metrics();
+
+		metrics.counter("events").increment().add(2);
+
+		assertThat(metrics.counter("events").count()).isEqualTo(3);
+	}
+
+	@Test void testEstimatePercentiles() {
+
+		final Timer timer=new Metrics().timer("timer");
+
+		for (int i=1; i <= 100; ++i) { timer.record(i, MILLISECONDS); }
+
+		assertThat(timer.count()).isEqualTo(100);
+		assertThat(timer.max()).isEqualTo(MILLISECONDS.toNanos(100));
+
+		assertThat((double)timer.percentile(0.5))
+				.isCloseTo(MILLISECONDS.toNanos(50), within(0.125*MILLISECONDS.toNanos(50)));
+
+		assertThat((double)timer.percentile(0.99))
+				.isCloseTo(MILLISECONDS.toNanos(99), within(0.125*MILLISECONDS.toNanos(99)));
+
+		assertThat(timer.percentile(1)).isEqualTo(timer.max());
+	}
+
+	@Test void testTimeTasks() {
+
+		final Metrics metrics=new Metrics();
+
+		assertThat(metrics.time("task", () -> "value").apply((t, v) -> assertThat(t).isPositive())).isEqualTo("value");
+		assertThat(metrics.timer("task").count()).isEqualTo(1);
+	}
+
+	@Test void testExportSnapshots() {
+
+		final Metrics metrics=new Metrics()
+				.gauge("gauge", () -> 1);
+
+		metrics.counter("counter.name").increment();
+		metrics.timer("timer").record(2, MILLISECONDS);
+
+		final JsonObject json=metrics.json();
+
+		assertThat(json.getJsonObject("counters").getInt("counter.name")).isEqualTo(1);
+		assertThat(json.getJsonObject("gauges").getJsonNumber("gauge").doubleValue()).isEqualTo(1.0);
+		assertThat(json.getJsonObject("timers").getJsonObject("timer").getInt("count")).isEqualTo(1);
+
+		assertThat(metrics.prometheus())
+				.contains("# TYPE counter_name_total counter\ncounter_name_total 1\n")
+				.contains("# TYPE gauge gauge\ngauge 1.0\n")
+				.contains("# TYPE timer_seconds summary\n")
+				.contains("timer_seconds_count 1\n");
+	}
+
+}
@@ -24,11 +24,14 @@ import org.eclipse.rdf4j.model.vocabulary.XSD;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.json.*;
+import javax.json.stream.JsonParser;
 
 import static com.metreeca.json.ModelAssert.assertThat;
 import static com.metreeca.json.Shape.optional;
@@ -74,6 +77,17 @@ final class JSONLDDecoderTest {
 		return new JSONLDDecoder(focus, shape.expand(), keywords).decode(object.build());
 	}
 
+	private Collection<Statement> parse(final IRI focus, final Shape shape, final JsonObjectBuilder object) {
+		try ( final JsonParser parser=createParser(new StringReader(object.build().toString())) ) {
+
+			return new JSONLDDecoder(focus, shape.expand(), emptyMap())
+					.decode(parser, (field, value) -> Optional.empty())
+					.get()
+					.orElse(null);
+
+		}
+	}
+
 
 	@Nested final class Syntax {
 
@@ -126,6 +140,50 @@ final class JSONLDDecoderTest {
 
 	}
 
+	@Nested final class Streaming {
+
+		@Test void testReportMalformedIdentifiers() {
+			assertThatThrownBy(() -> parse(x, and(), createObjectBuilder()
+
+					.add("@id", createValue(1))
+
+			)).isInstanceOf(JsonException.class);
+		}
+
+		@Test void testIgnoreContextObjects() {
+			assertThat(parse(x, field(RDF.VALUE), createObjectBuilder()
+
+					.add("@context", createObjectBuilder()
+							.add("value", RDF.VALUE.stringValue())
+							.add("nested", createArrayBuilder().add(createObjectBuilder()))
+					)
+					.add("value", "x")
+
+			)).isIsomorphicTo(
+
+					statement(x, RDF.VALUE, literal("x"))
+
+			);
+		}
+
+		@Test void testHandleTypeArrays() {
+			assertThat(parse(x, and(), createObjectBuilder()
+
+					.add("@type", createArrayBuilder()
+							.add(y.stringValue())
+							.add(RDF.LIST.stringValue())
+					)
+
+			)).isIsomorphicTo(
+
+					statement(x, RDF.TYPE, y),
+					statement(x, RDF.TYPE, RDF.LIST)
+
+			);
+		}
+
+	}
+
 	@Nested final class Values {
 
 		private Value decode(final JsonObjectBuilder value) {
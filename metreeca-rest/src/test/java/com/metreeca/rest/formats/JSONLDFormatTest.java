@@ -16,8 +16,10 @@
 
 package com.metreeca.rest.formats;
 
+import com.metreeca.json.Shape;
 import com.metreeca.rest.*;
 
+import org.assertj.core.api.Assertions;
 import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.IRI;
 import org.junit.jupiter.api.Nested;
@@ -28,11 +30,13 @@ import java.io.ByteArrayOutputStream;
 
 import javax.json.Json;
 
+import static com.metreeca.json.Shape.multiple;
 import static com.metreeca.json.Shape.required;
 import static com.metreeca.json.Values.*;
 import static com.metreeca.json.shapes.And.and;
 import static com.metreeca.json.shapes.Field.field;
 import static com.metreeca.json.shapes.Localized.localized;
+import static com.metreeca.json.shapes.MaxLength.maxLength;
 import static com.metreeca.rest.JSONAssert.assertThat;
 import static com.metreeca.rest.Response.*;
 import static com.metreeca.rest.ResponseAssert.assertThat;
@@ -66,11 +70,15 @@ final class JSONLDFormatTest {
 	@Nested final class Decoder {
 
 		private Request request(final String json) {
+			return request(json, field(direct, required()));
+		}
+
+		private Request request(final String json, final Shape shape) {
 			return new Request().base(base)
 
 					.header("Content-Type", MIME)
 
-					.attribute(shape(), field(direct, required()))
+					.attribute(shape(), shape)
 
 					.body(input(), () -> new ByteArrayInputStream(json.getBytes(UTF_8)));
 		}
@@ -117,6 +125,48 @@ final class JSONLDFormatTest {
 			);
 		}
 
+		@Test void testMergeSplitObjectsBeforeValidation() {
+			exec(() -> request("{ \"direct\": ["
+							+"{ \"@id\": \"/x\", \"nested\": \"one\" }, "
+							+"{ \"@id\": \"/x\", \"outlier\": \"two\" }"
+							+"] }",
+					field(direct, multiple(), and(field(nested, required()), field(outlier, required())))
+			)
+
+					.map(this::response)
+
+					.accept(response -> assertThat(response)
+							.hasStatus(OK)
+					)
+			);
+		}
+
+		@Test void testDecodeArrayItems() {
+			exec(() -> request("{ \"direct\": [{ \"nested\": \"one\" }, { \"nested\": \"two\" }] }",
+					field(direct, multiple(), field(nested, maxLength(3)))
+			)
+
+					.map(this::response)
+
+					.accept(response -> assertThat(response)
+							.hasStatus(OK)
+					)
+			);
+		}
+
+		@Test void testReportInvalidArrayItems() {
+			exec(() -> request("{ \"direct\": [{ \"nested\": \"one\" }, { \"nested\": \"three\" }] }",
+					field(direct, multiple(), field(nested, maxLength(3)))
+			)
+
+					.map(this::response)
+
+					.accept(response -> assertThat(response)
+							.hasStatus(UnprocessableEntity)
+					)
+			);
+		}
+
 	}
 
 	@Nested final class Encoder {
@@ -203,6 +253,20 @@ final class JSONLDFormatTest {
 			);
 		}
 
+		@Test void testPreferExplicitJSONLDToWildcards() {
+			exec(() -> request()
+
+					.header("Accept", MIME+";q=0.5, */*")
+
+					.reply(this::response)
+
+					.accept(response -> assertThat(response)
+							.hasHeader("Content-Type", MIME)
+					)
+
+			);
+		}
+
 		@Test void testGenerateJSONLDContextObjects() {
 			new Context()
 
@@ -251,6 +315,16 @@ final class JSONLDFormatTest {
 		}
 
 
+		private String encode(final Response response) {
+
+			final ByteArrayOutputStream output=new ByteArrayOutputStream();
+
+			response.body(output()).accept(e -> {}, target -> target.accept(output));
+
+			return new String(output.toByteArray(), UTF_8);
+		}
+
+
 		@Test void testTrimPayload() {
 			exec(() -> request()
 
@@ -305,6 +379,54 @@ final class JSONLDFormatTest {
 
 		}
 
+		@Test void testSkipValidationOfTrustedPayloads() {
+			exec(() -> request()
+
+					.reply(response -> response(response).attribute(trusted(), true).body(jsonld(), emptySet()))
+
+					.accept(response -> Assertions.assertThat(encode(response))
+							.as("invalid payload encoded without validation")
+							.contains("\"@id\"")
+					)
+
+			);
+		}
+
+		@Test void testSkipDisabledValidation() {
+			new Context()
+
+					.set(validation(), () -> 0.0)
+
+					.exec(() -> request()
+
+							.reply(response -> response(response).body(jsonld(), emptySet()))
+
+							.accept(response -> Assertions.assertThat(encode(response))
+									.as("invalid payload encoded without validation")
+									.contains("\"@id\"")
+							)
+
+					)
+
+					.clear();
+		}
+
+		@Test void testEnforceEnabledValidation() {
+			new Context()
+
+					.set(validation(), () -> 1.0)
+
+					.exec(() -> assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> request()
+
+							.reply(response -> response(response).body(jsonld(), emptySet()))
+
+							.accept(this::encode)
+
+					))
+
+					.clear();
+		}
+
 	}
 
 }
\ No newline at end of file
@@ -55,9 +55,14 @@ import static com.metreeca.json.shapes.Pattern.pattern;
 import static com.metreeca.json.shapes.Range.range;
 import static com.metreeca.json.shapes.Stem.stem;
 
+import static com.metreeca.rest.Xtream.decode;
+import static com.metreeca.rest.Xtream.encode;
+
 import static org.assertj.core.api.Assertions.*;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.emptyMap;
 
 final class JSONLDParserTest {
@@ -113,6 +118,20 @@ final class JSONLDParserTest {
 	}
 
 
+	private void facets(final String query, final Shape shape, final Consumer<Facets> tester) {
+		query(query, shape, new TestQueryProbe() {
+
+			@Override public Boolean probe(final Facets facets) {
+
+				tester.accept(facets);
+
+				return true;
+			}
+
+		});
+	}
+
+
 	private void query(final String query, final Shape shape, final Query.Probe<Boolean> probe) {
 		assertThat(parse(query, shape).map(probe))
 				.as("query processed")
@@ -190,6 +209,52 @@ final class JSONLDParserTest {
 
 	}
 
+	@Nested final class MultipleFacets {
+
+		@Test void testParseMultipleTermsPaths() {
+			facets("{ '.terms': ['first', 'first.rest'], '.limit': 2 }", shape, facets -> {
+
+				assertThat(facets.facets()).containsOnlyKeys("first", "first.rest");
+
+				assertThat(facets.facets().get("first")).isInstanceOfSatisfying(Terms.class, terms -> {
+					assertThat(terms.path()).containsExactly(RDF.FIRST);
+					assertThat(terms.limit()).isEqualTo(2);
+				});
+
+				assertThat(facets.facets().get("first.rest")).isInstanceOfSatisfying(Terms.class, terms ->
+						assertThat(terms.path()).containsExactly(RDF.FIRST, RDF.REST)
+				);
+
+			});
+		}
+
+		@Test void testParseFormBasedFacets() {
+			facets(".terms=first&.stats=first.rest", shape, facets -> {
+
+				assertThat(facets.facets().get("first")).isInstanceOf(Terms.class);
+				assertThat(facets.facets().get("first.rest")).isInstanceOf(Stats.class);
+
+			});
+		}
+
+		@Test void testParseSingletonTermsArrays() {
+			terms("{ '.terms': ['first'] }", shape, terms -> assertThat(terms.path()).containsExactly(RDF.FIRST));
+		}
+
+		@Test void testReportConflictingPaths() {
+			assertThatExceptionOfType(JsonException.class).isThrownBy(() ->
+					parse("{ '.terms': ['first'], '.stats': 'first' }", shape)
+			);
+		}
+
+		@Test void testReportMalformedPaths() {
+			assertThatExceptionOfType(JsonException.class).isThrownBy(() ->
+					parse("{ '.terms': ['first', 1] }", shape)
+			);
+		}
+
+	}
+
 	@Nested final class Paths {
 
 		@Test void testParseEmptyPath() {
@@ -623,6 +688,51 @@ final class JSONLDParserTest {
 
 		}
 
+		@Test void testParseCursorQuery() {
+
+			final String cursor=Items.cursor(asList(literal("y"), null, x));
+
+			items("first.rest=y&.order=first.rest&.order=-first&.after="+cursor, shape, items -> {
+
+				assertThat(items.after()).containsExactly(literal("y"), null, x);
+				assertThat(items.offset()).isEqualTo(0);
+
+			});
+
+			items("{ '.order': 'first', '.after': '"+Items.cursor(asList(One, x))+"' }", shape, items ->
+					assertThat(items.after()).containsExactly(One, x)
+			);
+
+		}
+
+		@Test void testReportMalformedCursors() {
+
+			assertThatExceptionOfType(JsonException.class).isThrownBy(() ->
+					parse("{ '.after': 'not-a-cursor' }", shape)
+			);
+
+			assertThatExceptionOfType(JsonException.class).isThrownBy(() ->
+					parse("{ '.order': 'first', '.after': '"+Items.cursor(singletonList(x))+"' }", shape)
+			);
+
+		}
+
+		@Test void testRewriteNextPageQueries() {
+
+			assertThat(JSONLDParser.next("", "c"))
+					.isEqualTo(".after=c");
+
+			assertThat(JSONLDParser.next("first=x&.offset=10&.after=b&.limit=5", "c"))
+					.isEqualTo("first=x&.limit=5&.after=c");
+
+			assertThat(decode(JSONLDParser.next("{\"first\":\"x\",\".offset\":10}", "c")))
+					.isEqualTo("{\"first\":\"x\",\".after\":\"c\"}");
+
+			assertThat(decode(JSONLDParser.next(encode("{\".after\":\"b\"}"), "c")))
+					.isEqualTo("{\".after\":\"c\"}");
+
+		}
+
 		@Test void testParseTermsQuery() {
 
 			terms("{ '.terms': 'first.rest', '.offset': 1, '.limit': 2 }", shape, terms -> {
@@ -674,6 +784,8 @@ final class JSONLDParserTest {
 
 		@Override public Boolean probe(final Stats stats) { return false; }
 
+		@Override public Boolean probe(final Facets facets) { return false; }
+
 	}
 
 }
@@ -19,15 +19,31 @@ package com.metreeca.rest.handlers;
 import com.metreeca.rest.Request;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static com.metreeca.json.Values.md5;
+import static com.metreeca.rest.Request.GET;
 import static com.metreeca.rest.Request.POST;
-import static com.metreeca.rest.Response.MethodNotAllowed;
+import static com.metreeca.rest.Response.*;
+import static com.metreeca.rest.formats.OutputFormat.output;
 import static com.metreeca.rest.ResponseAssert.assertThat;
 import static com.metreeca.rest.handlers.Publisher.publisher;
 import static com.metreeca.rest.handlers.Publisher.variants;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import static java.util.Collections.singletonMap;
+
 final class PublisherTest {
 
 	@Test void testVariants() {
@@ -59,4 +75,186 @@ final class PublisherTest {
 				);
 	}
 
-}
\ No newline at end of file
+
+
+	//// Assets ////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	@TempDir Path root;
+
+
+	private Request request(final String path) {
+		return new Request().method(GET).path(path);
+	}
+
+	private String body(final java.util.function.Consumer<java.io.OutputStream> target) {
+
+		final ByteArrayOutputStream output=new ByteArrayOutputStream();
+
+		target.accept(output);
+
+		return new String(output.toByteArray());
+	}
+
+
+	@Test void testServeFiles() throws IOException {
+
+		Files.write(root.resolve("file.txt"), "content".getBytes());
+
+		publisher(root)
+
+				.handle(request("/file.txt"))
+
+				.accept(response -> assertThat(response)
+						.hasStatus(OK)
+						.hasHeader("Content-Length", "7")
+						.hasHeader("Accept-Ranges", "bytes")
+						.doesNotHaveHeader("Content-Encoding")
+						.hasBody(output(), target -> assertThat(body(target)).isEqualTo("content"))
+				);
+	}
+
+	@Test void testServePrecompressedVariants() throws IOException {
+
+		Files.write(root.resolve("file.txt"), "content".getBytes());
+		Files.write(root.resolve("file.txt.gz"), "gzipped".getBytes());
+
+		final Publisher publisher=publisher(root);
+
+		publisher
+
+				.handle(request("/file.txt").header("Accept-Encoding", "deflate, gzip;q=0.5"))
+
+				.accept(response -> assertThat(response)
+						.hasStatus(OK)
+						.hasHeader("Content-Encoding", "gzip")
+						.hasHeader("Vary", "Accept-Encoding")
+						.hasBody(output(), target -> assertThat(body(target)).isEqualTo("gzipped"))
+				);
+
+		publisher
+
+				.handle(request("/file.txt").header("Accept-Encoding", "gzip;q=0"))
+
+				.accept(response -> assertThat(response)
+						.hasStatus(OK)
+						.doesNotHaveHeader("Content-Encoding")
+						.hasBody(output(), target -> assertThat(body(target)).isEqualTo("content"))
+				);
+	}
+
+	@Test void testServeByteRanges() throws IOException {
+
+		Files.write(root.resolve("file.txt"), "content".getBytes());
+
+		final Publisher publisher=publisher(root);
+
+		publisher
+
+				.handle(request("/file.txt").header("Range", "bytes=1-3"))
+
+				.accept(response -> assertThat(response)
+						.hasStatus(PartialContent)
+						.hasHeader("Content-Range", "bytes 1-3/7")
+						.hasHeader("Content-Length", "3")
+						.hasBody(output(), target -> assertThat(body(target)).isEqualTo("ont"))
+				);
+
+		publisher
+
+				.handle(request("/file.txt").header("Range", "bytes=-4"))
+
+				.accept(response -> assertThat(response)
+						.hasStatus(PartialContent)
+						.hasBody(output(), target -> assertThat(body(target)).isEqualTo("tent"))
+				);
+
+		publisher
+
+				.handle(request("/file.txt").header("Range", "bytes=10-"))
+
+				.accept(response -> assertThat(response)
+						.hasStatus(RangeNotSatisfiable)
+						.hasHeader("Content-Range", "bytes */7")
+				);
+
+		publisher
+
+				.handle(request("/file.txt").header("Range", "bytes=1-3").header("If-Range", "\"stale\""))
+
+				.accept(response -> assertThat(response)
+						.hasStatus(OK)
+						.hasBody(output(), target -> assertThat(body(target)).isEqualTo("content"))
+				);
+	}
+
+	@Test void testCacheMetadata() throws IOException {
+
+		final Path file=root.resolve("file.txt");
+
+		Files.write(file, "content".getBytes());
+		Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+
+		final Publisher cached=publisher(root).cache(Duration.ZERO);
+		final Publisher uncached=publisher(root);
+
+		cached.handle(request("/file.txt")).accept(response -> assertThat(response)
+				.hasHeader("ETag", "\"1000\"")
+		);
+
+		Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+
+		cached.handle(request("/file.txt")).accept(response -> assertThat(response)
+				.hasHeader("ETag", "\"1000\"")
+		);
+
+		uncached.handle(request("/file.txt")).accept(response -> assertThat(response)
+				.hasHeader("ETag", "\"2000\"")
+		);
+	}
+
+
+	@Test void testPreloadContent() throws IOException {
+
+		final Path file=root.resolve("file.txt");
+
+		Files.write(file, "content".getBytes());
+
+		final Publisher publisher=publisher(root).preload(1024);
+
+		Files.delete(file);
+
+		publisher.handle(request("/file.txt")).accept(response -> assertThat(response)
+				.hasStatus(OK)
+				.hasHeader("ETag", String.format("\"%s\"", md5("content")))
+				.hasBody(output(), target -> assertThat(body(target)).isEqualTo("content"))
+		);
+
+		publisher.handle(request("/missing.txt")).accept(response -> assertThat(response)
+				.hasStatus(NotFound)
+		);
+	}
+
+	@Test void testPreloadJarContent() throws IOException {
+
+		final URI jar=URI.create("jar:"+root.resolve("assets.jar").toUri());
+
+		try ( final FileSystem filesystem=FileSystems.newFileSystem(jar, singletonMap("create", "true")) ) {
+
+			Files.createDirectory(filesystem.getPath("/static"));
+			Files.write(filesystem.getPath("/static/index.html"), "<html/>".getBytes());
+			Files.write(filesystem.getPath("/static/index.html.gz"), "gzipped".getBytes());
+
+			publisher(filesystem.getPath("/static")).preload(1024)
+
+					.handle(request("/").header("Accept-Encoding", "gzip"))
+
+					.accept(response -> assertThat(response)
+							.hasStatus(OK)
+							.hasHeader("Content-Type", "text/html")
+							.hasHeader("Content-Encoding", "gzip")
+							.hasBody(output(), target -> assertThat(body(target)).isEqualTo("gzipped"))
+					);
+		}
+	}
+
+}
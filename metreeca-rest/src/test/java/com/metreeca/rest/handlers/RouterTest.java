@@ -28,6 +28,7 @@ import java.io.*;
 
 import static com.metreeca.rest.MessageException.status;
 import static com.metreeca.rest.RequestAssert.assertThat;
+import static com.metreeca.rest.Response.NotFound;
 import static com.metreeca.rest.ResponseAssert.assertThat;
 import static com.metreeca.rest.handlers.Router.router;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -193,6 +194,36 @@ final class RouterTest {
 
 		}
 
+		@Test void testPreferFirstMatchAcrossSteps() {
+
+			final Router router=router()
+
+					.path("/{id}/path", request -> request.reply(response -> response.status(100)))
+					.path("/head/path", request -> request.reply(response -> response.status(200)))
+					.path("/head/*", request -> request.reply(response -> response.status(300)))
+					.path("/head/{id}", request -> request.reply(response -> response.status(400)));
+
+			router.handle(request("/head/path")).accept(response -> assertThat(response).hasStatus(100));
+			router.handle(request("/head/other")).accept(response -> assertThat(response).hasStatus(300));
+			router.handle(request("/tail/path")).accept(response -> assertThat(response).hasStatus(100));
+			router.handle(request("/tail/other")).accept(response -> assertThat(response).hasStatus(NotFound));
+
+		}
+
+		@Test void testMatchNestedRouters() {
+
+			final Router router=router().path("/head/*", router().path("/{id}/tail", handler()));
+
+			router.handle(request("/head/path/tail")).accept(response -> assertThat(response)
+					.hasHeader("path", "/head/path/tail")
+			);
+
+			router.handle(request("/head/path")).accept(response -> assertThat(response)
+					.doesNotHaveHeader("path")
+			);
+
+		}
+
 	}
 
 	@Nested final class Methods {